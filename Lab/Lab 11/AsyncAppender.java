@@ -0,0 +1,136 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+// Multi-producer, single-consumer ring buffer of log records. Producers claim a sequence number with one
+// atomic operation, copy their record (template, arguments and fields) into the slot's own record and
+// publish it by storing the sequence in the slot's flag; no locks are taken. The appender thread takes
+// every published slot in order, renders it into one reused batch buffer, retains the lines and writes
+// the batch at once, so formatting is off the producers' threads and allocates nothing either.
+class AsyncAppender implements Runnable {
+    private static final int SPINS = Runtime.getRuntime().availableProcessors() > 1 ? 100 : 0;
+
+    private final Logger logger;
+    private final LogRecord[] slots;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final FullPolicy policy;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread thread;
+    private final LogBuffer batch = new LogBuffer();
+    private volatile long consumed;
+    private volatile boolean closed;
+
+    AsyncAppender(Logger logger, int capacity, FullPolicy policy) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.logger = logger;
+        this.slots = new LogRecord[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new LogRecord(null);
+            published.set(i, -1);
+        }
+        this.mask = capacity - 1;
+        this.policy = policy;
+        this.thread = new Thread(this, "log-appender");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Record as it is now, even if its arguments change later; false if it was dropped. Arguments are frozen
+    // before a slot is claimed, so a toString that logs does not wait for a slot behind its own.
+    boolean publish(LogRecord record) {
+        try {
+            record.freeze();
+        } catch (RuntimeException e) {
+            logger.replaceWithFailure(record, e);
+        }
+        long sequence;
+        if (policy == FullPolicy.DROP) {
+            do {
+                sequence = claimed.get();
+                if (sequence - consumed >= slots.length) {
+                    dropped.incrementAndGet();
+                    return false;
+                }
+            } while (!claimed.compareAndSet(sequence, sequence + 1));
+        } else {
+            sequence = claimed.getAndIncrement();
+            // Back off harder the longer the appender is behind, so waiting producers leave it the CPU
+            for (int spins = 0; sequence - consumed >= slots.length; spins++) {
+                if (spins < SPINS) {
+                    Thread.onSpinWait();
+                } else if (spins < SPINS + 10) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(Math.min(1_000_000, 10_000L << Math.min(7, spins - SPINS - 10)));
+                }
+            }
+        }
+        int index = (int) (sequence & mask);
+        slots[index].copyFrom(record);
+        published.lazySet(index, sequence); // ordered after the writes above
+        return true;
+    }
+
+    long dropped() {
+        return dropped.get();
+    }
+
+    long threadId() {
+        return thread.getId();
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            long next = consumed;
+            long end = next;
+            while (published.get((int) (end & mask)) == end) {
+                LogRecord record = slots[(int) (end & mask)];
+                // One bad record must not stop the thread, or producers waiting for space would wait forever
+                try {
+                    int message = logger.render(batch, record);
+                    logger.retain(record.time, batch, message, batch.length() - 1);
+                } catch (RuntimeException e) {
+                    logger.countFailure();
+                }
+                record.release();
+                end++;
+            }
+            if (end != next) {
+                write(batch);
+                batch.reset();
+                consumed = end; // frees the slots for producers
+            } else if (closed && claimed.get() == next) {
+                System.out.flush();
+                return;
+            } else {
+                LockSupport.parkNanos(50_000);
+            }
+        }
+    }
+
+    private static void write(LogBuffer lines) {
+        try {
+            lines.writeTo(System.out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // PrintStream does not throw
+        }
+    }
+
+    // Write out everything published so far, then stop the thread
+    void close() {
+        closed = true;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,5 @@
+// What a producer does when the ring buffer is full
+enum FullPolicy {
+    WAIT, // spin, then park, until the appender frees a slot
+    DROP  // give up on the message and count it
+}
@@ -0,0 +1,4 @@
+// Severity of a message, least severe first. OFF is only used as a threshold, to silence a category.
+enum Level {
+    TRACE, DEBUG, INFO, WARN, ERROR, OFF
+}
@@ -0,0 +1,255 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.TimeZone;
+
+// Growable char buffer that log lines are rendered into. Each thread (and the appender) keeps its own and
+// reuses it, so it only allocates while growing to the longest line seen. Timestamps are rendered from a
+// cached "HH:mm:ss" of the current second, and text leaves as UTF-8 encoded by hand into a reused array.
+class LogBuffer implements CharSequence {
+    private static final char[] DIGITS = "0123456789".toCharArray();
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private char[] chars = new char[256];
+    private int length;
+    private byte[] bytes = new byte[1024];
+    private final TimeZone zone = TimeZone.getDefault();
+    private long cachedSecond = Long.MIN_VALUE;
+    private final char[] clock = new char[8];
+
+    void reset() {
+        length = 0;
+    }
+
+    // Drop everything after the first length characters
+    void truncate(int length) {
+        this.length = length;
+    }
+
+    LogBuffer append(char c) {
+        ensure(1);
+        chars[length++] = c;
+        return this;
+    }
+
+    LogBuffer append(CharSequence text) {
+        if (text == null) {
+            return append("null");
+        }
+        int count = text.length();
+        ensure(count);
+        if (text instanceof String) {
+            ((String) text).getChars(0, count, chars, length);
+        } else {
+            for (int i = 0; i < count; i++) {
+                chars[length + i] = text.charAt(i);
+            }
+        }
+        length += count;
+        return this;
+    }
+
+    LogBuffer append(long value) {
+        if (value == Long.MIN_VALUE) {
+            return append("-9223372036854775808");
+        }
+        if (value < 0) {
+            append('-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        ensure(digits);
+        for (int i = length + digits - 1; i >= length; i--) {
+            chars[i] = DIGITS[(int) (value % 10)];
+            value /= 10;
+        }
+        length += digits;
+        return this;
+    }
+
+    // Text and whole numbers are copied as they are; anything else goes through toString
+    LogBuffer append(Object value) {
+        if (value instanceof CharSequence) {
+            return append((CharSequence) value);
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return append(((Number) value).longValue());
+        }
+        return append(String.valueOf(value));
+    }
+
+    // The inside of a JSON string: quotes, backslashes and control characters escaped
+    LogBuffer appendEscaped(char c) {
+        if (c == '"' || c == '\\') {
+            return append('\\').append(c);
+        }
+        if (c >= 0x20) {
+            return append(c);
+        }
+        switch (c) {
+            case '\n':
+                return append('\\').append('n');
+            case '\r':
+                return append('\\').append('r');
+            case '\t':
+                return append('\\').append('t');
+            default:
+                return append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+        }
+    }
+
+    // Same rules as append(Object), escaped
+    LogBuffer appendEscaped(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return append(((Number) value).longValue());
+        }
+        CharSequence text = value instanceof CharSequence ? (CharSequence) value : String.valueOf(value);
+        for (int i = 0; i < text.length(); i++) {
+            appendEscaped(text.charAt(i));
+        }
+        return this;
+    }
+
+    // A JSON value: whole numbers as numbers, null as null, anything else as a string
+    LogBuffer appendJson(Object value) {
+        if (value == null) {
+            return append("null");
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return append(((Number) value).longValue());
+        }
+        return append('"').appendEscaped(value).append('"');
+    }
+
+    // HH:mm:ss.SSS in the default time zone, like SimpleDateFormat("HH:mm:ss.SSS")
+    LogBuffer appendTime(long millis) {
+        long second = Math.floorDiv(millis, 1000);
+        if (second != cachedSecond) {
+            long local = Math.floorMod(second + zone.getOffset(millis) / 1000, 24 * 60 * 60);
+            twoDigits(clock, 0, (int) (local / 3600));
+            clock[2] = ':';
+            twoDigits(clock, 3, (int) (local / 60 % 60));
+            clock[5] = ':';
+            twoDigits(clock, 6, (int) (local % 60));
+            cachedSecond = second;
+        }
+        ensure(12);
+        System.arraycopy(clock, 0, chars, length, 8);
+        int fraction = Math.floorMod(millis, 1000);
+        chars[length + 8] = '.';
+        chars[length + 9] = DIGITS[fraction / 100];
+        chars[length + 10] = DIGITS[fraction / 10 % 10];
+        chars[length + 11] = DIGITS[fraction % 10];
+        length += 12;
+        return this;
+    }
+
+    private static void twoDigits(char[] into, int at, int value) {
+        into[at] = DIGITS[value / 10];
+        into[at + 1] = DIGITS[value % 10];
+    }
+
+    // Encode the whole buffer and write it in one call
+    void writeTo(OutputStream out) throws IOException {
+        int size = utf8Length(this, 0, length);
+        if (bytes.length < size) {
+            bytes = new byte[Math.max(size, bytes.length * 2)];
+        }
+        encodeUtf8(this, 0, length, bytes, 0);
+        out.write(bytes, 0, size);
+    }
+
+    static int utf8Length(CharSequence text, int from, int to) {
+        int size = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                size++;
+            } else if (c < 0x800) {
+                size += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(text.charAt(i + 1))) {
+                size += 4;
+                i++;
+            } else {
+                size += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+        return size;
+    }
+
+    // End of the longest start of from..to whose UTF-8 takes at most maxBytes; a surrogate pair is kept whole
+    static int utf8Prefix(CharSequence text, int from, int to, int maxBytes) {
+        int size = 0;
+        int i = from;
+        while (i < to) {
+            char c = text.charAt(i);
+            boolean pair = Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(text.charAt(i + 1));
+            int bytes = c < 0x80 ? 1 : c < 0x800 ? 2 : pair ? 4 : Character.isSurrogate(c) ? 1 : 3;
+            if (size + bytes > maxBytes) {
+                break;
+            }
+            size += bytes;
+            i += pair ? 2 : 1;
+        }
+        return i;
+    }
+
+    // Unpaired surrogates become '?', as String.getBytes does
+    static int encodeUtf8(CharSequence text, int from, int to, byte[] into, int at) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                into[at++] = (byte) c;
+            } else if (c < 0x800) {
+                into[at++] = (byte) (0xC0 | c >> 6);
+                into[at++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int code = Character.toCodePoint(c, text.charAt(++i));
+                into[at++] = (byte) (0xF0 | code >> 18);
+                into[at++] = (byte) (0x80 | code >> 12 & 0x3F);
+                into[at++] = (byte) (0x80 | code >> 6 & 0x3F);
+                into[at++] = (byte) (0x80 | code & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                into[at++] = '?';
+            } else {
+                into[at++] = (byte) (0xE0 | c >> 12);
+                into[at++] = (byte) (0x80 | c >> 6 & 0x3F);
+                into[at++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        return at;
+    }
+
+    private void ensure(int more) {
+        if (length + more > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(length + more, chars.length * 2));
+        }
+    }
+
+    void getChars(int from, int to, char[] into, int at) {
+        System.arraycopy(chars, from, into, at, to - from);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new String(chars, start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+}
@@ -0,0 +1,85 @@
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+
+// A named source of messages, e.g. "writer" or "writer.3" (one per writer thread). Its threshold is the
+// level set for its own name or else for the nearest parent name ("writer", then the root ""), and follows
+// Logger.setLevel at run time. A disabled level gets LogRecord.DISABLED, so a message below the threshold
+// costs nothing beyond its arguments; keep the category in a field rather than looking it up per message.
+//
+// The threshold is a plain field read through the CHECK call site, so compiled code may keep it in a
+// register or hoist the check out of a loop like any other field. That is only safe because a change
+// goes through thresholdsChanged: re-setting the call site's target throws away all compiled code that
+// inlined it, and the code compiled again reads the new thresholds.
+class LogCategory {
+    private static final MethodHandle ENABLED;
+    private static final MutableCallSite CHECK;
+    private static final MethodHandle IS_ENABLED;
+    private static long changes; // under Logger's levels lock
+
+    static {
+        try {
+            ENABLED = MethodHandles.lookup().findStatic(LogCategory.class, "enabled",
+                    MethodType.methodType(boolean.class, LogCategory.class, int.class, long.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        CHECK = new MutableCallSite(MethodHandles.insertArguments(ENABLED, 2, 0L));
+        IS_ENABLED = CHECK.dynamicInvoker();
+    }
+
+    final String name;
+    private final Logger logger;
+    int threshold; // ordinal of the least severe level let through; written only before thresholdsChanged
+
+    LogCategory(Logger logger, String name, int threshold) {
+        this.logger = logger;
+        this.name = name;
+        this.threshold = threshold;
+    }
+
+    // After thresholds were written: compiled checks are discarded, and every thread sees the new values.
+    // The target must really be a new one; setting the same handle again leaves compiled code in place.
+    static void thresholdsChanged() {
+        CHECK.setTarget(MethodHandles.insertArguments(ENABLED, 2, ++changes));
+        MutableCallSite.syncAll(new MutableCallSite[] {CHECK});
+    }
+
+    // change only tells the targets apart
+    private static boolean enabled(LogCategory category, int level, long change) {
+        return level >= category.threshold;
+    }
+
+    public boolean isEnabled(Level level) {
+        try {
+            return (boolean) IS_ENABLED.invokeExact(this, level.ordinal());
+        } catch (Throwable e) {
+            throw new AssertionError(e); // enabled throws nothing
+        }
+    }
+
+    public LogRecord at(Level level, String template) {
+        return isEnabled(level) ? logger.record(this, level, template) : LogRecord.DISABLED;
+    }
+
+    public LogRecord trace(String template) {
+        return at(Level.TRACE, template);
+    }
+
+    public LogRecord debug(String template) {
+        return at(Level.DEBUG, template);
+    }
+
+    public LogRecord info(String template) {
+        return at(Level.INFO, template);
+    }
+
+    public LogRecord warn(String template) {
+        return at(Level.WARN, template);
+    }
+
+    public LogRecord error(String template) {
+        return at(Level.ERROR, template);
+    }
+}
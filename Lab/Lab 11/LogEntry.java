@@ -0,0 +1,11 @@
+// One retained message: when it was logged and its text as the file sink keeps it (the message and its
+// fields, or the JSON object); the timestamp is rendered on display
+class LogEntry {
+    final long time;
+    final String message;
+
+    LogEntry(long time, String message) {
+        this.time = time;
+        this.message = message;
+    }
+}
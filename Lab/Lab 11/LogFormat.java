@@ -0,0 +1,5 @@
+// How lines are written to the console and the file sink: the classic text line, or one JSON object per
+// line carrying the level, category, thread, tenant, sequence number and the record's own fields
+enum LogFormat {
+    TEXT, JSON
+}
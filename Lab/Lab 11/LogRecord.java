@@ -0,0 +1,308 @@
+// A message template with up to MAX_ARGS arguments, each "{}" in the template taking the next one (extra
+// "{}" stay as they are), and up to MAX_FIELDS named fields that are written as keys of their own. Records
+// come from a LogCategory, which hands out one record per thread for building. A synchronous log() renders
+// the line into the thread's own buffer; an async one copies the record into a ring buffer slot (see
+// copyFrom) and the appender renders it. Neither allocates per message, and the store keeps text, never
+// the arguments themselves.
+class LogRecord {
+    static final int MAX_ARGS = 8;
+    static final int MAX_FIELDS = 8;
+
+    // Handed out for levels a category does not let through: takes the arguments and logs nothing
+    static final LogRecord DISABLED = new LogRecord(null) {
+        @Override
+        LogRecord arg(Object value) {
+            return this;
+        }
+
+        @Override
+        LogRecord arg(long value) {
+            return this;
+        }
+
+        @Override
+        LogRecord field(String key, Object value) {
+            return this;
+        }
+
+        @Override
+        LogRecord field(String key, long value) {
+            return this;
+        }
+
+        @Override
+        public void log() {
+        }
+    };
+
+    long time;
+    long sequence;
+    long thread;
+    Level level = Level.INFO;
+    LogFormat format = LogFormat.TEXT;
+    LogCategory category;
+    String tenant; // kept by the thread's record from one message to the next, see Logger.setTenant
+    String template;
+    int count;
+    int numeric; // bit i set: argument i is nums[i]
+    final Object[] refs = new Object[MAX_ARGS];
+    final long[] nums = new long[MAX_ARGS];
+    int fields;
+    int numericFields; // bit i set: field i is fieldNums[i]
+    final String[] keys = new String[MAX_FIELDS];
+    final Object[] fieldRefs = new Object[MAX_FIELDS];
+    final long[] fieldNums = new long[MAX_FIELDS];
+    private final Logger logger;
+    boolean emitting;
+    // Text of arguments and fields taken by freeze or copyFrom, and the views refs and fieldRefs hold on it
+    private LogBuffer copies;
+    private Copy[] views;
+
+    // logger is null for records that are rendered but never logged
+    LogRecord(Logger logger) {
+        this.logger = logger;
+    }
+
+    LogRecord start(LogCategory category, Level level, String template) {
+        this.category = category;
+        this.level = level;
+        this.template = template;
+        count = 0;
+        numeric = 0;
+        fields = 0;
+        numericFields = 0;
+        if (copies != null) {
+            copies.reset();
+        }
+        return this;
+    }
+
+    LogRecord arg(Object value) {
+        refs[next()] = value;
+        return this;
+    }
+
+    LogRecord arg(long value) {
+        int index = next();
+        nums[index] = value;
+        numeric |= 1 << index;
+        return this;
+    }
+
+    private int next() {
+        if (count == MAX_ARGS) {
+            throw new IllegalArgumentException("At most " + MAX_ARGS + " arguments per message");
+        }
+        return count++;
+    }
+
+    // key should be a constant; it is written as it is, without escaping
+    LogRecord field(String key, Object value) {
+        int index = nextField(key);
+        fieldRefs[index] = value;
+        return this;
+    }
+
+    LogRecord field(String key, long value) {
+        int index = nextField(key);
+        fieldNums[index] = value;
+        numericFields |= 1 << index;
+        return this;
+    }
+
+    private int nextField(String key) {
+        if (fields == MAX_FIELDS) {
+            throw new IllegalArgumentException("At most " + MAX_FIELDS + " fields per message");
+        }
+        keys[fields] = key;
+        return fields++;
+    }
+
+    public void log() {
+        logger.emit(this);
+    }
+
+    // Let go of the arguments once they are no longer needed
+    void release() {
+        template = null;
+        for (int i = 0; i < count; i++) {
+            refs[i] = null;
+        }
+        for (int i = 0; i < fields; i++) {
+            fieldRefs[i] = null;
+        }
+    }
+
+    // Replaces each argument and field that could render differently later with a copy of its text, so the
+    // record renders as it would have now. Strings, boxed primitives and enums are kept as they are; other
+    // text is copied char by char, and anything else is rendered with toString, which may throw.
+    void freeze() {
+        for (int i = 0; i < count; i++) {
+            if ((numeric & 1 << i) == 0 && !frozen(refs[i])) {
+                refs[i] = copy(i, refs[i]);
+            }
+        }
+        for (int i = 0; i < fields; i++) {
+            if ((numericFields & 1 << i) == 0 && !frozen(fieldRefs[i])) {
+                fieldRefs[i] = copy(MAX_ARGS + i, fieldRefs[i]);
+            }
+        }
+    }
+
+    // Takes over everything rendering needs from a frozen record, copying the text the arguments were
+    // frozen into; the other references are immutable, so from can be reused at once
+    void copyFrom(LogRecord from) {
+        time = from.time;
+        sequence = from.sequence;
+        thread = from.thread;
+        level = from.level;
+        format = from.format;
+        category = from.category;
+        tenant = from.tenant;
+        template = from.template;
+        count = from.count;
+        numeric = from.numeric;
+        fields = from.fields;
+        numericFields = from.numericFields;
+        if (copies != null) {
+            copies.reset();
+        }
+        for (int i = 0; i < count; i++) {
+            if ((numeric & 1 << i) != 0) {
+                nums[i] = from.nums[i];
+            } else {
+                refs[i] = from.refs[i] instanceof Copy ? copy(i, from.refs[i]) : from.refs[i];
+            }
+        }
+        for (int i = 0; i < fields; i++) {
+            keys[i] = from.keys[i];
+            if ((numericFields & 1 << i) != 0) {
+                fieldNums[i] = from.fieldNums[i];
+            } else {
+                fieldRefs[i] = from.fieldRefs[i] instanceof Copy ? copy(MAX_ARGS + i, from.fieldRefs[i]) : from.fieldRefs[i];
+            }
+        }
+    }
+
+    private static boolean frozen(Object value) {
+        return value == null || value instanceof Copy || value instanceof String || value instanceof Long || value instanceof Integer
+                || value instanceof Short || value instanceof Byte || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum;
+    }
+
+    // The text of value appended to copies, and the view number index over it
+    private Copy copy(int index, Object value) {
+        if (copies == null) {
+            copies = new LogBuffer();
+            views = new Copy[MAX_ARGS + MAX_FIELDS];
+            for (int i = 0; i < views.length; i++) {
+                views[i] = new Copy();
+            }
+        }
+        int from = copies.length();
+        copies.append(value instanceof CharSequence ? (CharSequence) value : String.valueOf(value));
+        Copy view = views[index];
+        view.text = copies;
+        view.from = from;
+        view.to = copies.length();
+        return view;
+    }
+
+    void appendMessage(LogBuffer out) {
+        appendMessage(out, false);
+    }
+
+    // escaped: for the inside of a JSON string
+    void appendMessage(LogBuffer out, boolean escaped) {
+        String text = template;
+        int argument = 0;
+        int from = 0;
+        for (int at = text.indexOf("{}"); at >= 0 && argument < count; at = text.indexOf("{}", from)) {
+            appendTemplate(out, text, from, at, escaped);
+            if ((numeric & 1 << argument) != 0) {
+                out.append(nums[argument]);
+            } else if (escaped) {
+                out.appendEscaped(refs[argument]);
+            } else {
+                out.append(refs[argument]);
+            }
+            argument++;
+            from = at + 2;
+        }
+        appendTemplate(out, text, from, text.length(), escaped);
+    }
+
+    private static void appendTemplate(LogBuffer out, String text, int from, int to, boolean escaped) {
+        for (int i = from; i < to; i++) {
+            if (escaped) {
+                out.appendEscaped(text.charAt(i));
+            } else {
+                out.append(text.charAt(i));
+            }
+        }
+    }
+
+    // " key=value" for each field, after the message of a text line
+    void appendFields(LogBuffer out) {
+        for (int i = 0; i < fields; i++) {
+            out.append(' ').append(keys[i]).append('=');
+            if ((numericFields & 1 << i) != 0) {
+                out.append(fieldNums[i]);
+            } else {
+                out.append(fieldRefs[i]);
+            }
+        }
+    }
+
+    // {"seq":..,"time":..,"level":..,"category":..,"thread":..,"tenant":..,"message":..} with the fields
+    // added as keys of their own; tenant only when set
+    void appendJson(LogBuffer out) {
+        out.append("{\"seq\":").append(sequence)
+                .append(",\"time\":").append(time)
+                .append(",\"level\":\"").append(level.name())
+                .append("\",\"category\":").appendJson(category == null ? "" : category.name)
+                .append(",\"thread\":").append(thread);
+        if (tenant != null) {
+            out.append(",\"tenant\":").appendJson(tenant);
+        }
+        out.append(",\"message\":\"");
+        appendMessage(out, true);
+        out.append('"');
+        for (int i = 0; i < fields; i++) {
+            out.append(",\"").append(keys[i]).append("\":");
+            if ((numericFields & 1 << i) != 0) {
+                out.append(fieldNums[i]);
+            } else {
+                out.appendJson(fieldRefs[i]);
+            }
+        }
+        out.append('}');
+    }
+
+    // Characters from..to of a record's copies
+    private static final class Copy implements CharSequence {
+        LogBuffer text;
+        int from;
+        int to;
+
+        @Override
+        public int length() {
+            return to - from;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return text.charAt(from + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return text.subSequence(from + start, from + end);
+        }
+
+        @Override
+        public String toString() {
+            return text.subSequence(from, to).toString();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+// Fixed-size circular store of the text of the most recent messages, bounded by count and by bytes; the
+// oldest entries are evicted first. Everything is allocated up front, so maxBytes bounds what the store
+// really takes: a slot per message (time, position and length) and one char array that the texts are
+// copied into end to end, starting over at its beginning. Written by one thread at a time (under the
+// logger's lock, or by the appender alone while async). Readers take snapshots without locking: an entry
+// is evicted (oldest moves past it) before its slot or its characters are reused, so a copy is intact if
+// the entry is still retained once it is made; if not, it is left out instead of the writer waiting.
+class LogStore {
+    private static final int ARRAY_HEADER = 16;
+    private static final int SLOT_BYTES = 8 + 8 + 4;
+
+    private final long[] times;
+    private final long[] positions; // of the first character, counted in characters ever stored
+    private final int[] lengths;
+    private final char[] text;
+    private final int mask;
+    private long end; // position after the newest entry
+    private volatile long oldest;
+    private volatile long next;
+
+    LogStore(int capacity, long maxBytes) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        long chars = (maxBytes - 4 * ARRAY_HEADER - (long) capacity * SLOT_BYTES) / 2;
+        if (chars <= 0 || chars > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(capacity + " messages do not fit in " + maxBytes + " bytes");
+        }
+        this.times = new long[capacity];
+        this.positions = new long[capacity];
+        this.lengths = new int[capacity];
+        this.text = new char[(int) chars];
+        this.mask = capacity - 1;
+    }
+
+    // Characters from..to of line; a message longer than the whole text array keeps only its start
+    void add(long time, CharSequence line, int from, int to) {
+        int length = Math.min(to - from, text.length);
+        long position = end;
+        int at = (int) (position % text.length);
+        if (at + length > text.length) {
+            position += text.length - at; // no room before the end of the array: continue at its start
+            at = 0;
+        }
+        long sequence = next;
+        long first = oldest;
+        while (first < sequence && (sequence - first >= times.length
+                || position + length - positions[(int) (first & mask)] > text.length)) {
+            first++;
+        }
+        oldest = first;
+        VarHandle.storeStoreFence(); // evicted before any of it is overwritten
+        int index = (int) (sequence & mask);
+        times[index] = time;
+        positions[index] = position;
+        lengths[index] = length;
+        if (line instanceof LogBuffer) {
+            ((LogBuffer) line).getChars(from, from + length, text, at);
+        } else {
+            for (int i = 0; i < length; i++) {
+                text[at + i] = line.charAt(from + i);
+            }
+        }
+        end = position + length;
+        next = sequence + 1;
+    }
+
+    // Drop everything; same single-writer rule as add
+    void clear() {
+        oldest = next;
+    }
+
+    int size() {
+        return (int) (next - oldest);
+    }
+
+    // Taken by the retained entries: their slots and the stretch of the text array from the oldest one on,
+    // including any end of the array skipped over. Writer's view; approximate from other threads.
+    long bytes() {
+        long first = oldest;
+        long last = next;
+        return first == last ? 0 : (last - first) * SLOT_BYTES + 2 * (end - positions[(int) (first & mask)]);
+    }
+
+    // Taken by the store itself, whatever it holds; at most maxBytes
+    long footprint() {
+        return 4 * ARRAY_HEADER + (long) times.length * SLOT_BYTES + 2L * text.length;
+    }
+
+    // Messages evicted to stay within the bounds, or cleared
+    long evicted() {
+        return oldest;
+    }
+
+    // The retained entries, oldest first; a writer lapping the reader leaves the newest contiguous run
+    Iterator<LogEntry> snapshot() {
+        long first = oldest;
+        long last = next;
+        List<LogEntry> entries = new ArrayList<>((int) (last - first));
+        for (long sequence = first; sequence < last; sequence++) {
+            int index = (int) (sequence & mask);
+            long time = times[index];
+            int at = (int) (positions[index] % text.length);
+            int length = lengths[index];
+            String message = length >= 0 && at + length <= text.length ? new String(text, at, length) : null;
+            VarHandle.acquireFence(); // the copy above is made before oldest is checked again
+            if (message != null && oldest <= sequence) {
+                entries.add(new LogEntry(time, message));
+            } else {
+                entries.clear(); // overwritten by now, and so is everything before it
+            }
+        }
+        return entries.iterator();
+    }
+}
@@ -0,0 +1,295 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+class Logger {
+    // Retention bounds: the most recent messages up to this many, and up to this many (estimated) bytes
+    static final int RETAINED_MESSAGES = 1 << 13;
+    static final long RETAINED_BYTES = 1 << 20;
+    // Threshold of the root category "" until a level is set for it
+    static final Level DEFAULT_LEVEL = Level.INFO;
+
+    private static volatile Logger instance;
+    private final LogStore store = new LogStore(RETAINED_MESSAGES, RETAINED_BYTES);
+    private volatile AsyncAppender appender;
+    private volatile MappedLogSink sink;
+    private final String prefix = "Logged by instance: " + hashCode() + " => ";
+    private final ThreadLocal<LogRecord> records = ThreadLocal.withInitial(() -> new LogRecord(this));
+    private final ThreadLocal<LogBuffer> lines = ThreadLocal.withInitial(LogBuffer::new);
+    // Numbers messages in the order log() was called; lines of different threads can be written slightly out of it
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile LogFormat format = LogFormat.TEXT;
+    private final Map<String, LogCategory> categories = new ConcurrentHashMap<>();
+    private final Map<String, Level> levels = new HashMap<>(); // set by setLevel; guarded by itself
+    private final LogCategory root = category("");
+
+    private Logger() {
+    }
+
+    public static Logger getInstance() {
+        if (instance == null) {
+            synchronized (Logger.class) {
+                if (instance == null) {
+                    instance = new Logger();
+                }
+            }
+        }
+        return instance;
+    }
+
+    // From now on log() hands messages to a background appender instead of writing them itself. Switching
+    // under the lock fences the writers: one that read no appender before the switch either finished its
+    // write before it, or finds the appender once it has the lock, so the appender is the store's only
+    // writer from its first line on.
+    public synchronized void startAsync(int capacity, FullPolicy policy) {
+        if (appender == null) {
+            appender = new AsyncAppender(this, capacity, policy);
+        }
+    }
+
+    // Back to writing in log(); call once the writers are done. Returns how many messages were dropped.
+    public synchronized long stopAsync() {
+        AsyncAppender stopped = appender;
+        if (stopped == null) {
+            return 0;
+        }
+        appender = null;
+        stopped.close();
+        return stopped.dropped();
+    }
+
+    // INFO in the root category
+    public void log(String message) {
+        record(message).log();
+    }
+
+    // Parameterized message at INFO in the root category, e.g.
+    // record("Thread-{}: Log message {}").arg(id).arg(i).log(); the text is only put together where the
+    // record is written out, and nothing is allocated on the way
+    public LogRecord record(String template) {
+        return root.at(Level.INFO, template);
+    }
+
+    // The category for name, created on first use; dots separate the levels of the hierarchy
+    public LogCategory category(String name) {
+        LogCategory category = categories.get(name);
+        if (category == null) {
+            synchronized (levels) {
+                category = categories.computeIfAbsent(name, key -> new LogCategory(this, key, threshold(key)));
+            }
+        }
+        return category;
+    }
+
+    // Threshold for name and for every category below it that has no level of its own; null goes back to
+    // inheriting from the parent. Seen by the next message on every thread.
+    public void setLevel(String name, Level level) {
+        synchronized (levels) {
+            if (level == null) {
+                levels.remove(name);
+            } else {
+                levels.put(name, level);
+            }
+            for (LogCategory category : categories.values()) {
+                category.threshold = threshold(category.name);
+            }
+            LogCategory.thresholdsChanged();
+        }
+    }
+
+    // Under the levels lock
+    private int threshold(String name) {
+        for (String current = name; ; current = current.substring(0, Math.max(0, current.lastIndexOf('.')))) {
+            Level level = levels.get(current);
+            if (level != null) {
+                return level.ordinal();
+            }
+            if (current.isEmpty()) {
+                return DEFAULT_LEVEL.ordinal();
+            }
+        }
+    }
+
+    public void setFormat(LogFormat format) {
+        this.format = format;
+    }
+
+    // Tenant (e.g. the SRN) written with every message the calling thread logs from now on; null for none
+    public void setTenant(String tenant) {
+        records.get().tenant = tenant;
+    }
+
+    LogRecord record(LogCategory category, Level level, String template) {
+        LogRecord record = records.get();
+        if (record.emitting) {
+            String tenant = record.tenant;
+            record = new LogRecord(this); // logged from an argument's toString while rendering or freezing
+            record.tenant = tenant;
+        }
+        return record.start(category, level, template);
+    }
+
+    void emit(LogRecord record) {
+        record.emitting = true;
+        try {
+            record.time = System.currentTimeMillis();
+            record.sequence = sequence.incrementAndGet();
+            record.thread = Thread.currentThread().getId();
+            record.format = format;
+            AsyncAppender async = appender;
+            if (async != null) {
+                async.publish(record); // rendered by the appender
+            } else {
+                // A record logged from an argument's toString is not the thread's own, and the thread's buffer is in use
+                LogBuffer line = record == records.get() ? lines.get() : new LogBuffer();
+                line.reset();
+                int message = render(line, record);
+                write(record, line, message);
+            }
+        } finally {
+            record.release();
+            record.emitting = false;
+        }
+    }
+
+    // Rendered by the caller's thread; only storing and writing the finished line take the lock. The
+    // appender may have started since log() looked (see startAsync); the record goes to it then.
+    private synchronized void write(LogRecord record, LogBuffer line, int message) {
+        AsyncAppender async = appender;
+        if (async != null) {
+            async.publish(record);
+            return;
+        }
+        retain(record.time, line, message, line.length() - 1);
+        try {
+            line.writeTo(System.out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // PrintStream does not throw
+        }
+    }
+
+    // Appends the console line for record, in the format it was logged with, and returns where the part kept
+    // by the file sink starts: the message and its fields in text, the whole object in JSON. A record that
+    // fails to render, e.g. because an argument's toString threw, becomes a placeholder line naming the
+    // template and the exception, logged like any other line.
+    int render(LogBuffer line, LogRecord record) {
+        int start = line.length();
+        try {
+            return format(line, record);
+        } catch (RuntimeException e) {
+            replaceWithFailure(record, e);
+            line.truncate(start);
+            return format(line, record);
+        }
+    }
+
+    private int format(LogBuffer line, LogRecord record) {
+        if (record.format == LogFormat.JSON) {
+            int object = line.length();
+            record.appendJson(line);
+            line.append('\n');
+            return object;
+        }
+        line.append(prefix).appendTime(record.time).append(" - ");
+        int message = line.length();
+        record.appendMessage(line);
+        record.appendFields(line);
+        line.append('\n');
+        return message;
+    }
+
+    // Turns record into the placeholder for itself; when and where it was logged stay as they were
+    void replaceWithFailure(LogRecord record, RuntimeException e) {
+        countFailure();
+        String failed = "Could not log \"" + record.template + "\": " + e.getClass().getName();
+        record.release();
+        record.start(record.category, record.level, failed);
+    }
+
+    void countFailure() {
+        failures.incrementAndGet();
+    }
+
+    // Messages replaced by a placeholder, lost by the appender while being retained, or kept from the file sink
+    // by an error in it
+    public long failures() {
+        return failures.get();
+    }
+
+    // Called under the logger's lock, or by the appender thread alone while async; the store and the sink
+    // keep characters from..to of text
+    void retain(long time, CharSequence text, int from, int to) {
+        store.add(time, text, from, to);
+        MappedLogSink file = sink;
+        if (file != null) {
+            try {
+                file.append(time, text, from, to);
+            } catch (RuntimeException e) {
+                countFailure(); // e.g. a segment that could not be rotated; the message stays retained
+            }
+        }
+    }
+
+    // Also write every message to segment files in directory (see MappedLogSink); not while async
+    public synchronized long attachSink(Path directory, int segmentSize, long maxAgeMillis, int maxSegments)
+            throws IOException {
+        if (appender != null) {
+            throw new IllegalStateException("Stop the async appender before changing the sink");
+        }
+        detachSink();
+        MappedLogSink opened = new MappedLogSink(directory, segmentSize, maxAgeMillis, maxSegments);
+        sink = opened;
+        return opened.recovered();
+    }
+
+    public synchronized void detachSink() throws IOException {
+        if (appender != null) {
+            throw new IllegalStateException("Stop the async appender before changing the sink");
+        }
+        MappedLogSink attached = sink;
+        sink = null;
+        if (attached != null) {
+            attached.close();
+        }
+    }
+
+    // Only while no async appender is running
+    public synchronized void clear() {
+        store.clear();
+    }
+
+    // Retained messages, oldest first; reading never holds up log()
+    public Iterator<LogEntry> logs() {
+        return store.snapshot();
+    }
+
+    LogStore store() {
+        return store;
+    }
+
+    // The running appender, or null
+    AsyncAppender appender() {
+        return appender;
+    }
+
+    public void displayLogs() {
+        System.out.println("\n--- Final Log Messages ---");
+        long evicted = store.evicted();
+        if (evicted > 0) {
+            System.out.println("(" + evicted + " older messages no longer retained)");
+        }
+        SimpleDateFormat format = new SimpleDateFormat("HH:mm:ss.SSS");
+        for (Iterator<LogEntry> entries = logs(); entries.hasNext(); ) {
+            LogEntry entry = entries.next();
+            System.out.println(format.format(new Date(entry.time)) + " - " + entry.message);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Write throughput of the memory-mapped sink against println to a file, then throughput of log() with
+// 1 to 64 threads: the original logger this lab started from (OriginalLogger) as the baseline, then this
+// one synchronized, async waiting for space and async dropping (with the share dropped).
+// Measured the way JMH measures, which a plain javac build cannot pull in: every fork is a fresh JVM that
+// runs each benchmark for WARMUPS iterations, thrown away, then for ITERATIONS measured ones; the report
+// gives the mean of all measured iterations of all forks with their standard deviation and range, so a
+// difference within the spread is not mistaken for one between the loggers. Output goes to a discarding
+// stream so the console does not set the pace; the async times include the drain.
+//   java task1 bench, or java LoggerBenchmark [forks]
+class LoggerBenchmark {
+    static final int FORKS = 3;
+    private static final int WARMUPS = 3;
+    private static final int ITERATIONS = 5;
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+    private static final int MESSAGES = 500_000; // per iteration, split between the threads
+    private static final int CAPACITY = 1 << 14;
+    private static final String LINE = "12:00:00.000 - PES1UG22CS360 - Thread-1: Log message ";
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        if (args.length > 0 && args[0].equals("fork")) {
+            measure();
+        } else {
+            run(args.length > 0 ? Integer.parseInt(args[0]) : FORKS);
+        }
+    }
+
+    static void run() throws InterruptedException, IOException {
+        run(FORKS);
+    }
+
+    // Forks one JVM after another with this one's class path, and reports what they measured
+    static void run(int forks) throws InterruptedException, IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String classPath = System.getProperty("java.class.path");
+        Map<String, List<Double>> samples = new LinkedHashMap<>();
+        for (int fork = 1; fork <= forks; fork++) {
+            System.out.println("Fork " + fork + " of " + forks + " (" + WARMUPS + " warm-up and " + ITERATIONS
+                    + " measured iterations per benchmark)");
+            Process process = new ProcessBuilder(java, "-cp", classPath.isEmpty() ? "." : classPath, "LoggerBenchmark", "fork")
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            try (BufferedReader lines = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                for (String line; (line = lines.readLine()) != null; ) {
+                    String[] sample = line.split("\t");
+                    samples.computeIfAbsent(sample[0], name -> new ArrayList<>()).add(Double.parseDouble(sample[1]));
+                }
+            }
+            if (process.waitFor() != 0) {
+                throw new IllegalStateException("Fork " + fork + " exited with " + process.exitValue());
+            }
+        }
+        System.out.println();
+        System.out.printf("%-28s %14s %12s %7s %14s %14s %4s%n", "benchmark", "mean", "stdev", "cv", "min", "max", "n");
+        for (Map.Entry<String, List<Double>> benchmark : samples.entrySet()) {
+            List<Double> values = benchmark.getValue();
+            double mean = values.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+            double squares = values.stream().mapToDouble(value -> (value - mean) * (value - mean)).sum();
+            double stdev = values.size() > 1 ? Math.sqrt(squares / (values.size() - 1)) : 0;
+            System.out.printf("%-28s %14.1f %12.1f %6.1f%% %14.1f %14.1f %4d%n", benchmark.getKey(), mean, stdev,
+                    mean == 0 ? 0 : stdev / mean * 100, values.stream().mapToDouble(Double::doubleValue).min().orElse(0),
+                    values.stream().mapToDouble(Double::doubleValue).max().orElse(0), values.size());
+        }
+    }
+
+    // One fork: prints a "name<TAB>value" line per benchmark value and measured iteration
+    private static void measure() throws InterruptedException, IOException {
+        PrintStream samples = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        Path directory = Files.createTempDirectory("log-bench");
+        try {
+            iterate(samples, new String[] {"sink println msg/s", "sink println MB/s"}, () -> println(directory));
+            iterate(samples, new String[] {"sink mapped msg/s", "sink mapped MB/s"}, () -> mapped(directory));
+            for (int threads : THREADS) {
+                iterate(samples, new String[] {"log original " + threads + "t msg/s"}, () -> original(threads));
+                iterate(samples, new String[] {"log sync " + threads + "t msg/s"}, () -> round(threads, null));
+                iterate(samples, new String[] {"log wait " + threads + "t msg/s"}, () -> round(threads, FullPolicy.WAIT));
+                iterate(samples, new String[] {"log drop " + threads + "t msg/s", "log drop " + threads + "t dropped %"},
+                        () -> round(threads, FullPolicy.DROP));
+            }
+        } finally {
+            System.setOut(samples);
+            delete(directory);
+        }
+    }
+
+    private interface Iteration {
+        double[] run() throws InterruptedException, IOException;
+    }
+
+    private static void iterate(PrintStream samples, String[] names, Iteration iteration)
+            throws InterruptedException, IOException {
+        for (int i = 0; i < WARMUPS + ITERATIONS; i++) {
+            double[] values = iteration.run();
+            if (i >= WARMUPS) {
+                for (int v = 0; v < names.length; v++) {
+                    samples.println(names[v] + "\t" + values[v]);
+                }
+            }
+        }
+    }
+
+    // One writer printing lines to a file the way log() prints them (a PrintStream flushing every line,
+    // like the console); ends with the data handed to the OS
+    private static double[] println(Path directory) throws IOException {
+        Path printed = directory.resolve("println.log");
+        long start = System.nanoTime();
+        try (PrintStream out = new PrintStream(new FileOutputStream(printed.toFile()), true)) {
+            for (int i = 0; i < MESSAGES; i++) {
+                out.println(LINE + i);
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double megabytes = (double) Files.size(printed) / (1 << 20);
+        Files.delete(printed);
+        return new double[] {MESSAGES / seconds, megabytes / seconds};
+    }
+
+    // The same lines appended to the memory-mapped segments, which are also forced to disk on close
+    private static double[] mapped(Path directory) throws IOException {
+        Path segments = directory.resolve("mapped");
+        long bytes = 0;
+        long start = System.nanoTime();
+        try (MappedLogSink sink = new MappedLogSink(segments, 64 << 20, Long.MAX_VALUE, 1_000)) {
+            for (int i = 0; i < MESSAGES; i++) {
+                String line = LINE + i;
+                sink.append(System.currentTimeMillis(), line);
+                bytes += line.length() + 1; // as println would have written it
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        delete(segments);
+        return new double[] {MESSAGES / seconds, bytes / (double) (1 << 20) / seconds};
+    }
+
+    // Messages per second and the share dropped in percent; policy null means synchronized
+    private static double[] round(int threads, FullPolicy policy) throws InterruptedException {
+        Logger logger = Logger.getInstance();
+        logger.clear();
+        if (policy != null) {
+            logger.startAsync(CAPACITY, policy);
+        }
+        int perThread = MESSAGES / threads;
+        Thread[] writers = new Thread[threads];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    logger.record("Thread-{}: Log message {}").arg(id).arg(i).log();
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        long dropped = logger.stopAsync();
+        long elapsed = System.nanoTime() - start;
+        logger.clear();
+        double total = perThread * (double) threads;
+        return new double[] {total / elapsed * 1e9, dropped / total * 100};
+    }
+
+    // The baseline: as many messages through a fresh OriginalLogger, built by concatenation as its callers did
+    private static double[] original(int threads) throws InterruptedException {
+        OriginalLogger logger = new OriginalLogger();
+        int perThread = MESSAGES / threads;
+        Thread[] writers = new Thread[threads];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    logger.log("Thread-" + id + ": Log message " + i);
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new double[] {perThread * (double) threads / elapsed * 1e9};
+    }
+
+    // Logger.log as the lab handed it out: one lock around a new SimpleDateFormat, string concatenation, an
+    // unbounded linked list of every message and println
+    private static final class OriginalLogger {
+        private Node head = null;
+        private Node tail = null;
+
+        synchronized void log(String message) {
+            String timestamp = new SimpleDateFormat("HH:mm:ss.SSS").format(new Date());
+            String logMessage = timestamp + " - " + message;
+            Node newNode = new Node(timestamp, logMessage);
+
+            if (head == null) {
+                head = newNode;
+                tail = newNode;
+            } else {
+                tail.next = newNode;
+                tail = newNode;
+            }
+
+            System.out.println("Logged by instance: " + this.hashCode() + " => " + logMessage);
+        }
+
+        private static final class Node {
+            final String timestamp;
+            final String message;
+            Node next;
+
+            Node(String timestamp, String message) {
+                this.timestamp = timestamp;
+                this.message = message;
+            }
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,489 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Self-checks run with java task1 check; each throws on the first violation
+class LoggerChecks {
+    static void run() throws InterruptedException, IOException {
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            retentionStaysBounded();
+            snapshotsDoNotBlockWriters();
+            sinkRecoversAndReplays();
+            loggingDoesNotAllocate();
+            levelsFollowTheHierarchy();
+            jsonLinesCarryTheFields();
+            renderingMatchesTheFormatter();
+            appenderSurvivesFailingRecords();
+            argumentsAreReadWhenLogged();
+            switchFencesSyncWriters();
+            oversizeMessagesAreCutBySink();
+            hotLoopsSeeLevelChanges();
+        } finally {
+            System.setOut(console);
+        }
+        console.println("All checks passed");
+    }
+
+    // Count bound with short messages, byte bound with long ones; the newest messages are the ones kept, and
+    // the store takes no more than the byte bound however many arguments or how much text it is handed
+    static void retentionStaysBounded() {
+        Logger logger = Logger.getInstance();
+        logger.clear();
+        check(logger.store().footprint() <= Logger.RETAINED_BYTES, "footprint: " + logger.store().footprint());
+        for (int i = 0; i < Logger.RETAINED_MESSAGES * 3; i++) {
+            logger.log("short " + i);
+        }
+        LogStore store = logger.store();
+        check(store.size() == Logger.RETAINED_MESSAGES, "count bound: " + store.size());
+        check(last(logger).equals("short " + (Logger.RETAINED_MESSAGES * 3 - 1)), "newest kept");
+
+        String padding = "x".repeat(2000);
+        for (int i = 0; i < 2000; i++) {
+            logger.log(padding + i);
+        }
+        check(store.bytes() <= Logger.RETAINED_BYTES, "byte bound: " + store.bytes());
+        check(store.size() < Logger.RETAINED_MESSAGES, "evicted by bytes: " + store.size());
+        check(last(logger).equals(padding + 1999), "newest kept");
+        logger.clear();
+
+        LogStore small = new LogStore(4, 1024);
+        String longest = "y".repeat(1000);
+        small.add(0, longest, 0, longest.length());
+        String kept = small.snapshot().next().message;
+        check(small.size() == 1 && longest.startsWith(kept) && 2 * kept.length() < 1024, "cut to fit: " + kept.length());
+    }
+
+    // A reader keeps taking snapshots while the async appender writes; every snapshot is in order with no gaps
+    static void snapshotsDoNotBlockWriters() throws InterruptedException {
+        Logger logger = Logger.getInstance();
+        logger.clear();
+        logger.startAsync(1024, FullPolicy.WAIT);
+        int messages = 200_000;
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < messages; i++) {
+                logger.log(Integer.toString(i));
+            }
+        });
+        writer.start();
+        try {
+            int snapshots = 0;
+            while (writer.isAlive() || snapshots == 0) {
+                int previous = -1;
+                for (Iterator<LogEntry> entries = logger.logs(); entries.hasNext(); ) {
+                    int value = Integer.parseInt(entries.next().message);
+                    check(previous == -1 || value == previous + 1, "snapshot order: " + previous + " then " + value);
+                    previous = value;
+                }
+                snapshots++;
+            }
+        } finally {
+            writer.join();
+            logger.stopAsync();
+        }
+        check(last(logger).equals(Integer.toString(messages - 1)), "all written");
+        logger.clear();
+    }
+
+    // Rotation by size and age, pruning, a torn record after a crash, and replay of a time range
+    static void sinkRecoversAndReplays() throws IOException {
+        Path directory = Files.createTempDirectory("log-check");
+        try {
+            try (MappedLogSink sink = new MappedLogSink(directory, 4096, Long.MAX_VALUE, 100)) {
+                for (int i = 0; i < 200; i++) {
+                    sink.append(i * 1000L, "record " + i);
+                }
+            }
+            List<Path> segments = segmentFiles(directory);
+            check(segments.size() > 1, "rotated by size: " + segments.size());
+
+            // A crash while appending: a length is on disk, the rest of the record is not
+            Path newest = segments.get(segments.size() - 1);
+            try (FileChannel channel = FileChannel.open(newest, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+                int position = 0;
+                while (segment.getInt(position) > 0) {
+                    position += 16 + segment.getInt(position);
+                }
+                segment.putInt(position, 40);
+                segment.putInt(position + 4, 12345);
+                segment.putLong(position + 8, 200_500L);
+                segment.force();
+            }
+            try (MappedLogSink sink = new MappedLogSink(directory, 4096, Long.MAX_VALUE, 100)) {
+                check(sink.recovered() > 0, "recovered the intact records");
+                sink.append(200_000L, "record 200");
+            }
+
+            List<String> all = new ArrayList<>();
+            MappedLogSink.replay(directory, Long.MIN_VALUE, Long.MAX_VALUE, (time, message) -> all.add(message));
+            check(all.size() == 201, "replayed everything but the torn record: " + all.size());
+            for (int i = 0; i < all.size(); i++) {
+                check(all.get(i).equals("record " + i), "replay order at " + i + ": " + all.get(i));
+            }
+            List<Long> range = new ArrayList<>();
+            MappedLogSink.replay(directory, 50_000L, 59_000L, (time, message) -> range.add(time));
+            check(range.size() == 10 && range.get(0) == 50_000L, "time range: " + range);
+
+            // A segment older than maxAge is closed even with room left; only maxSegments are kept
+            Path aged = directory.resolve("aged");
+            try (MappedLogSink sink = new MappedLogSink(aged, 4096, 1000, 3)) {
+                long start = System.currentTimeMillis();
+                for (int i = 0; i < 5; i++) {
+                    sink.append(start + i * 5000L, "record " + i);
+                }
+            }
+            check(segmentFiles(aged).size() == 3, "rotated by age and pruned: " + segmentFiles(aged).size());
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    // Steady state, with retention and the file sink on: no bytes allocated by the logging thread, whether
+    // it writes a text or JSON line itself or hands the record to the appender, nor for disabled levels; nor
+    // by the appender rendering and writing the records it is handed
+    static void loggingDoesNotAllocate() throws IOException, InterruptedException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Path directory = Files.createTempDirectory("log-check");
+        Logger logger = Logger.getInstance();
+        logger.clear();
+        logger.attachSink(directory, 64 << 20, Long.MAX_VALUE, 4);
+        LogCategory category = logger.category("check.allocation");
+        String[] rounds = {"sync", "sync JSON", "async", "async JSON"};
+        try {
+            String name = "PES1UG22CS360";
+            logger.setTenant(name);
+            for (int round = 0; round < rounds.length; round++) {
+                logger.setFormat(round % 2 == 1 ? LogFormat.JSON : LogFormat.TEXT);
+                if (round == 2) {
+                    logger.startAsync(1 << 12, FullPolicy.WAIT);
+                }
+                long appender = round >= 2 ? logger.appender().threadId() : -1;
+                // Buffers reach full size at once; until the JIT has compiled (and scalar-replaced) the
+                // hot path a batch may still allocate, so up to five batches of 100000 calls are measured
+                long allocated = -1;
+                long rendering = -1;
+                for (int batch = 0; batch < 5 && (allocated != 0 || rendering > 0); batch++) {
+                    long before = threads.getCurrentThreadAllocatedBytes();
+                    long renderedBefore = appender < 0 ? 0 : threads.getThreadAllocatedBytes(appender);
+                    for (int i = 0; i < 100_000; i++) {
+                        category.info("{} - Thread-{}: Log message {}").arg(name).arg(round).arg(i)
+                                .field("venue", "Hall A").field("seats", i).log();
+                        category.debug("Thread-{}: not logged").arg(round).field("seats", i).log();
+                    }
+                    allocated = threads.getCurrentThreadAllocatedBytes() - before;
+                    rendering = appender < 0 ? 0 : threads.getThreadAllocatedBytes(appender) - renderedBefore;
+                }
+                check(allocated == 0, rounds[round] + " log() allocated " + allocated + " bytes in 100000 calls");
+                check(rendering <= 0, rounds[round] + " appender allocated " + rendering + " bytes in 100000 calls");
+            }
+        } finally {
+            logger.stopAsync();
+            logger.setFormat(LogFormat.TEXT);
+            logger.setTenant(null);
+            logger.detachSink();
+            logger.clear();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    // Nearest explicit level wins, changes reach existing and later categories, disabled messages are not kept
+    static void levelsFollowTheHierarchy() {
+        Logger logger = Logger.getInstance();
+        logger.clear();
+        LogCategory parent = logger.category("check.levels");
+        LogCategory child = logger.category("check.levels.child");
+        try {
+            check(child.isEnabled(Logger.DEFAULT_LEVEL) && !child.isEnabled(Level.DEBUG), "default level");
+            child.debug("hidden").log();
+            check(logger.store().size() == 0, "disabled message not kept");
+
+            logger.setLevel("check.levels", Level.DEBUG);
+            check(parent.isEnabled(Level.DEBUG) && child.isEnabled(Level.DEBUG), "inherited by existing categories");
+            check(logger.category("check.levels.later").isEnabled(Level.DEBUG), "inherited by new categories");
+            check(!logger.category("check.levelsx").isEnabled(Level.DEBUG), "only below a dot");
+            child.debug("shown {}").arg(1).log();
+            check("shown 1".equals(last(logger)), "enabled message kept");
+
+            logger.setLevel("check.levels.child", Level.ERROR);
+            check(!child.isEnabled(Level.WARN) && parent.isEnabled(Level.DEBUG), "own level wins");
+            logger.setLevel("check.levels", Level.OFF);
+            check(!parent.isEnabled(Level.ERROR) && child.isEnabled(Level.ERROR), "OFF only for the parent");
+
+            logger.setLevel("check.levels.child", null);
+            check(!child.isEnabled(Level.ERROR), "back to inheriting");
+        } finally {
+            logger.setLevel("check.levels", null);
+            logger.setLevel("check.levels.child", null);
+            logger.clear();
+        }
+        check(!child.isEnabled(Level.DEBUG) && child.isEnabled(Level.INFO), "default again");
+    }
+
+    // Every JSON line is one object with the thread, tenant and sequence number, escaped text and the fields
+    static void jsonLinesCarryTheFields() throws IOException {
+        Logger logger = Logger.getInstance();
+        LogCategory category = logger.category("check.json");
+        PrintStream discarding = System.out;
+        java.io.ByteArrayOutputStream captured = new java.io.ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+        Path directory = Files.createTempDirectory("log-check");
+        try {
+            logger.attachSink(directory, 1 << 16, Long.MAX_VALUE, 4);
+            logger.setFormat(LogFormat.JSON);
+            logger.setTenant("PES1UG22CS360");
+            category.warn("Say \"{}\"\tto {}").arg("caf\u00e9\n").arg(7)
+                    .field("venue", "Hall \\A").field("seats", 40).field("note", null).log();
+            category.info("second").log();
+        } finally {
+            logger.detachSink();
+            logger.setFormat(LogFormat.TEXT);
+            logger.setTenant(null);
+            System.setOut(discarding);
+        }
+        try {
+            String[] lines = captured.toString(StandardCharsets.UTF_8).split("\n");
+            check(lines.length == 2, "one line per message: " + lines.length);
+            String expected = ",\"level\":\"WARN\",\"category\":\"check.json\",\"thread\":" + Thread.currentThread().getId()
+                    + ",\"tenant\":\"PES1UG22CS360\",\"message\":\"Say \\\"caf\u00e9\\n\\\"\\tto 7\","
+                    + "\"venue\":\"Hall \\\\A\",\"seats\":40,\"note\":null}";
+            check(lines[0].startsWith("{\"seq\":") && lines[0].endsWith(expected), "JSON line: " + lines[0]);
+            long first = Long.parseLong(lines[0].substring(7, lines[0].indexOf(',')));
+            check(lines[1].startsWith("{\"seq\":" + (first + 1) + ","), "sequence numbers: " + lines[1]);
+
+            List<String> stored = new ArrayList<>();
+            MappedLogSink.replay(directory, Long.MIN_VALUE, Long.MAX_VALUE, (time, message) -> stored.add(message));
+            check(stored.size() == 2 && stored.get(0).equals(lines[0]), "file sink keeps the JSON: " + stored);
+        } finally {
+            logger.clear();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    // The hand-written timestamp, numbers and UTF-8 agree with SimpleDateFormat, Long.toString and String.getBytes
+    static void renderingMatchesTheFormatter() {
+        SimpleDateFormat format = new SimpleDateFormat("HH:mm:ss.SSS");
+        LogBuffer buffer = new LogBuffer();
+        long now = System.currentTimeMillis();
+        for (long millis : new long[] {0, 999, now, now + 1, now + 3_600_000, now - 86_400_000L * 200}) {
+            buffer.reset();
+            check(buffer.appendTime(millis).toString().equals(format.format(new Date(millis))), "time " + millis);
+        }
+        for (long value : new long[] {0, 7, -42, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            buffer.reset();
+            check(buffer.append(value).toString().equals(Long.toString(value)), "number " + value);
+        }
+        String text = "caf\u00e9 \u20ac \ud83d\ude00 \ud800 x";
+        byte[] encoded = new byte[LogBuffer.utf8Length(text, 0, text.length())];
+        LogBuffer.encodeUtf8(text, 0, text.length(), encoded, 0);
+        check(Arrays.equals(encoded, text.getBytes(StandardCharsets.UTF_8)), "UTF-8");
+
+        LogRecord record = new LogRecord(null).start(null, Level.INFO, "{} has {} of {} seats {}").arg("Hall").arg(3).arg(10L);
+        buffer.reset();
+        record.appendMessage(buffer);
+        check(buffer.toString().equals("Hall has 3 of 10 seats {}"), "template: " + buffer);
+    }
+
+    // An argument whose toString throws becomes a placeholder line instead of an exception in log(); the
+    // appender keeps going, so producers waiting for space in a small ring buffer are not left blocked
+    static void appenderSurvivesFailingRecords() throws InterruptedException {
+        Logger logger = Logger.getInstance();
+        logger.clear();
+        long failures = logger.failures();
+        Object broken = new Object() {
+            @Override
+            public String toString() {
+                throw new IllegalStateException("broken toString");
+            }
+        };
+        logger.record("Broken {}").arg(broken).log();
+        check(logger.failures() == failures + 1, "failure counted");
+        check(last(logger).equals("Could not log \"Broken {}\": java.lang.IllegalStateException"), "placeholder: " + last(logger));
+
+        failures = logger.failures();
+        logger.startAsync(16, FullPolicy.WAIT);
+        Thread writer = new Thread(() -> {
+            logger.record("Broken {}").arg(broken).log();
+            for (int i = 0; i < 1000; i++) {
+                logger.log(Integer.toString(i));
+            }
+        });
+        writer.setDaemon(true); // left behind if the check fails
+        writer.start();
+        writer.join(10_000);
+        boolean finished = !writer.isAlive();
+        logger.stopAsync();
+        check(finished, "producer blocked after a failing record");
+        check(logger.failures() == failures + 1, "failures counted: " + (logger.failures() - failures));
+        check("999".equals(last(logger)), "messages after the failure written: " + last(logger));
+        logger.clear();
+    }
+
+    // Even while async, a mutable argument changed right after log() shows as it was when logged
+    static void argumentsAreReadWhenLogged() {
+        Logger logger = Logger.getInstance();
+        logger.clear();
+        StringBuilder venue = new StringBuilder("Hall A");
+        logger.startAsync(16, FullPolicy.WAIT);
+        try {
+            logger.record("Venue {}").arg(venue).log();
+            venue.setLength(0);
+            venue.append("Hall B");
+        } finally {
+            logger.stopAsync();
+        }
+        check("Venue Hall A".equals(last(logger)), "rendered when logged: " + last(logger));
+        logger.clear();
+    }
+
+    // A sync write that saw no appender but reaches the lock after startAsync goes through the appender, so
+    // the appender thread is the only one writing from then on
+    static void switchFencesSyncWriters() throws InterruptedException {
+        Logger logger = Logger.getInstance();
+        logger.clear();
+        PrintStream discarding = System.out;
+        List<String> writers = new ArrayList<>();
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()) {
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                if (new String(bytes, offset, length, StandardCharsets.UTF_8).contains("caught by the switch")) {
+                    synchronized (writers) {
+                        writers.add(Thread.currentThread().getName());
+                    }
+                }
+            }
+        });
+        Thread writer = new Thread(() -> logger.log("caught by the switch"), "sync-writer");
+        try {
+            synchronized (logger) {
+                writer.start();
+                while (writer.getState() != Thread.State.BLOCKED) {
+                    Thread.onSpinWait();
+                }
+                logger.startAsync(16, FullPolicy.WAIT);
+            }
+            writer.join();
+        } finally {
+            logger.stopAsync();
+            System.setOut(discarding);
+        }
+        check(writers.equals(List.of("log-appender")), "written by: " + writers);
+        check("caught by the switch".equals(last(logger)), "retained: " + last(logger));
+        logger.clear();
+    }
+
+    // A message longer than a segment is logged, retained and written cut to fit, in both modes; the cut
+    // never splits a character
+    static void oversizeMessagesAreCutBySink() throws IOException {
+        Logger logger = Logger.getInstance();
+        logger.clear();
+        Path directory = Files.createTempDirectory("log-check");
+        String oversize = "x" + "\u00e9\ud83d\ude00".repeat(2000);
+        try {
+            logger.attachSink(directory, 4096, Long.MAX_VALUE, 4);
+            logger.log(oversize);
+            check(oversize.equals(last(logger)), "sync: retained whole");
+            logger.startAsync(16, FullPolicy.WAIT);
+            try {
+                logger.log(oversize);
+            } finally {
+                logger.stopAsync();
+            }
+            check(oversize.equals(last(logger)) && logger.store().size() == 2, "async: retained whole");
+        } finally {
+            logger.detachSink();
+            logger.clear();
+        }
+        try {
+            List<String> stored = new ArrayList<>();
+            MappedLogSink.replay(directory, Long.MIN_VALUE, Long.MAX_VALUE, (time, message) -> stored.add(message));
+            check(stored.size() == 2, "both written: " + stored.size());
+            for (String message : stored) {
+                int bytes = message.getBytes(StandardCharsets.UTF_8).length;
+                check(oversize.startsWith(message) && bytes <= 4096 - 16 && bytes > 4096 - 16 - 4,
+                        "cut to fit: " + bytes + " bytes");
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    // A compiled loop that checks a level may hoist the plain threshold read out of it; setLevel must still
+    // reach it, by discarding that code
+    static void hotLoopsSeeLevelChanges() throws InterruptedException {
+        Logger logger = Logger.getInstance();
+        LogCategory category = logger.category("check.hot");
+        long[] spins = new long[1];
+        Thread spinner = new Thread(() -> {
+            long count = 0;
+            while (!category.isEnabled(Level.DEBUG)) {
+                count++;
+            }
+            spins[0] = count;
+        });
+        spinner.setDaemon(true); // left behind if the check fails
+        spinner.start();
+        try {
+            Thread.sleep(500); // long enough for the loop to be compiled
+            logger.setLevel("check.hot", Level.DEBUG);
+            spinner.join(5_000);
+            check(!spinner.isAlive(), "spinning loop never saw the new level");
+            check(spins[0] > 0, "loop ran");
+        } finally {
+            logger.setLevel("check.hot", null);
+        }
+    }
+
+    private static List<Path> segmentFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".seg")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static String last(Logger logger) {
+        String last = null;
+        for (Iterator<LogEntry> entries = logger.logs(); entries.hasNext(); ) {
+            last = entries.next().message;
+        }
+        return last;
+    }
+
+    static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new IllegalStateException("Check failed: " + what);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Persistent log: records appended to fixed-size segment files that are memory-mapped, so an append is a
+// copy into the page cache with no system call. A segment is closed (and forced to disk) when the next
+// record does not fit or it is older than maxAge; only the newest maxSegments files are kept. Record:
+//   int length | int crc32 | long epoch millis | length bytes of UTF-8
+// The length is written last and a zero length marks the end, so a record is either complete or not
+// there; opening the directory again scans the newest segment up to the first record that is missing or
+// fails its checksum (pages can reach the disk out of order), zeroes the torn rest and appends from there.
+// A message too long for a segment keeps only the start that fits, so appending never fails on its
+// length. Appends follow the same single-writer rule as LogStore.
+class MappedLogSink implements AutoCloseable {
+    private static final int HEADER = 16;
+    private static final String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long maxAgeMillis;
+    private final int maxSegments;
+    private final CRC32 crc = new CRC32();
+    private byte[] encoded = new byte[1024];
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentNumber;
+    private long segmentOpened;
+    private long recovered;
+    private long truncated;
+
+    MappedLogSink(Path directory, int segmentSize, long maxAgeMillis, int maxSegments) throws IOException {
+        if (segmentSize <= HEADER) {
+            throw new IllegalArgumentException("Segment size must leave room for a record: " + segmentSize);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.maxAgeMillis = maxAgeMillis;
+        this.maxSegments = maxSegments;
+        List<Path> existing = segments(directory);
+        if (existing.isEmpty()) {
+            open(0);
+        } else {
+            Path last = existing.get(existing.size() - 1);
+            open(number(last));
+            recover();
+        }
+    }
+
+    // Records found intact in the newest segment when the sink was opened
+    long recovered() {
+        return recovered;
+    }
+
+    // Messages cut to fit in a segment
+    long truncated() {
+        return truncated;
+    }
+
+    void append(long time, String message) {
+        append(time, message, 0, message.length());
+    }
+
+    // Characters from..to of text, encoded straight into the mapped segment
+    void append(long time, CharSequence text, int from, int to) {
+        int length = LogBuffer.utf8Length(text, from, to);
+        if (HEADER + length > segmentSize) {
+            to = LogBuffer.utf8Prefix(text, from, to, segmentSize - HEADER);
+            length = LogBuffer.utf8Length(text, from, to);
+            truncated++;
+        }
+        if (segment.remaining() < HEADER + length || time - segmentOpened > maxAgeMillis) {
+            rotate();
+        }
+        int position = segment.position();
+        segment.putLong(position + 8, time);
+        int at = position + HEADER;
+        if (encoded.length < length) {
+            encoded = new byte[Math.max(length, encoded.length * 2)];
+        }
+        LogBuffer.encodeUtf8(text, from, to, encoded, 0);
+        segment.put(at, encoded, 0, length);
+        crc.reset();
+        segment.limit(at + length).position(position + 8);
+        crc.update(segment); // time and body
+        segment.limit(segmentSize);
+        segment.putInt(position + 4, (int) crc.getValue());
+        segment.putInt(position, length); // commits the record
+        segment.position(at + length);
+    }
+
+    // Push the current segment's pages to disk
+    void flush() {
+        segment.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        segment.force();
+        channel.close();
+    }
+
+    // Every record logged between from and to (epoch millis, inclusive), in the order written. Works on
+    // the directory alone, so it can read another process's log or one left behind by a crash. Every
+    // segment is scanned: async producers take their timestamps before their turn, so time order is
+    // only approximate.
+    static void replay(Path directory, long from, long to, BiConsumer<Long, String> action) throws IOException {
+        for (Path file : segments(directory)) {
+            try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer records = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+                CRC32 crc = new CRC32();
+                int position = 0;
+                int length;
+                while ((length = valid(records, position, crc)) >= 0) {
+                    long time = records.getLong(position + 8);
+                    if (time >= from && time <= to) {
+                        byte[] body = new byte[length];
+                        records.get(position + HEADER, body);
+                        action.accept(time, new String(body, StandardCharsets.UTF_8));
+                    }
+                    position += HEADER + length;
+                }
+            }
+        }
+    }
+
+    // Length of the intact record at position, or -1 where the log ends
+    private static int valid(ByteBuffer records, int position, CRC32 crc) {
+        if (records.limit() - position < HEADER) {
+            return -1;
+        }
+        int length = records.getInt(position);
+        if (length <= 0 || length > records.limit() - position - HEADER) {
+            return -1;
+        }
+        crc.reset();
+        crc.update(records.slice(position + 8, 8 + length));
+        return (int) crc.getValue() == records.getInt(position + 4) ? length : -1;
+    }
+
+    private void recover() {
+        int position = 0;
+        int length;
+        while ((length = valid(segment, position, crc)) >= 0) {
+            if (recovered == 0) {
+                segmentOpened = segment.getLong(position + 8);
+            }
+            recovered++;
+            position += HEADER + length;
+        }
+        for (int i = position; i < segmentSize; i++) {
+            segment.put(i, (byte) 0);
+        }
+        segment.position(position);
+    }
+
+    private void rotate() {
+        try {
+            close();
+            open(segmentNumber + 1);
+            List<Path> all = segments(directory);
+            for (int i = 0; i < all.size() - maxSegments; i++) {
+                Files.deleteIfExists(all.get(i));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not rotate log segment " + segmentNumber, e);
+        }
+    }
+
+    private void open(long number) throws IOException {
+        Path file = directory.resolve(String.format("log-%019d%s", number, SUFFIX));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize); // extends a new file with zeros
+        segmentNumber = number;
+        segmentOpened = System.currentTimeMillis();
+    }
+
+    private static long number(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(4, name.length() - SUFFIX.length()));
+    }
+
+    // Oldest first; the zero-padded numbers sort by name
+    private static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().matches("log-\\d{19}\\" + SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
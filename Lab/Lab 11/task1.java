@@ -1,60 +1,67 @@
+import java.io.IOException;
+import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Random;
 
-class LogNode {
-    String timestamp;
-    String message;
-    LogNode next;
-
-    public LogNode(String timestamp, String message) {
-        this.timestamp = timestamp;
-        this.message = message;
-        this.next = null;
-    }
-}
-
-class Logger {
-    private static Logger instance;
-    private LogNode head = null;
-    private LogNode tail = null;
+// javac task1.java (compiles the classes it uses from their own files)
+// java task1 [async | file [directory] | json | bench | check]
+public class task1 {
+    public static void main(String[] args) throws InterruptedException, IOException {
+        String mode = args.length > 0 ? args[0] : "sync";
+        if (mode.equals("bench")) {
+            LoggerBenchmark.run();
+            return;
+        }
+        if (mode.equals("check")) {
+            LoggerChecks.run();
+            return;
+        }
+        long started = System.currentTimeMillis();
+        Path directory = Path.of(args.length > 1 ? args[1] : "logs");
+        if (mode.equals("file")) {
+            long recovered = Logger.getInstance().attachSink(directory, 1 << 20, 60 * 60 * 1000, 8);
+            System.out.println("Appending to " + directory + " (" + recovered + " records in the last segment)");
+        }
+        if (mode.equals("async")) {
+            Logger.getInstance().startAsync(1024, FullPolicy.WAIT);
+        }
+        if (mode.equals("json")) {
+            // One JSON object per line; writer 1 also shows its DEBUG messages until halfway through
+            Logger.getInstance().setFormat(LogFormat.JSON);
+            Logger.getInstance().setLevel("writer.1", Level.DEBUG);
+        }
 
-    private Logger() {
-    }
+        int numThreads = 4;
+        Thread[] threads = new Thread[numThreads];
+        String srn = "PES1UG22CS360";
 
-    public static Logger getInstance() {
-        if (instance == null) {
-            synchronized (Logger.class) {
-                if (instance == null) {
-                    instance = new Logger();
-                }
-            }
+        for (int i = 0; i < numThreads; i++) {
+            threads[i] = new LogWriter(srn, i + 1);
+            threads[i].start();
+        }
+        if (mode.equals("json")) {
+            Thread.sleep(2500);
+            Logger.getInstance().setLevel("writer.1", null);
         }
-        return instance;
-    }
-
-    public synchronized void log(String message) {
-        String timestamp = new SimpleDateFormat("HH:mm:ss.SSS").format(new Date());
-        String logMessage = timestamp + " - " + message;
-        LogNode newNode = new LogNode(timestamp, logMessage);
 
-        if (head == null) {
-            head = newNode;
-            tail = newNode;
-        } else {
-            tail.next = newNode;
-            tail = newNode;
+        for (int i = 0; i < numThreads; i++) {
+            try {
+                threads[i].join();
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
         }
 
-        System.out.println("Logged by instance: " + this.hashCode() + " => " + logMessage);
-    }
+        Logger.getInstance().stopAsync();
+        Logger.getInstance().displayLogs();
 
-    public void displayLogs() {
-        System.out.println("\n--- Final Log Messages ---");
-        LogNode current = head;
-        while (current != null) {
-            System.out.println(current.message);
-            current = current.next;
+        if (mode.equals("file")) {
+            Logger.getInstance().detachSink();
+            System.out.println("\n--- Replayed from " + directory + " ---");
+            SimpleDateFormat format = new SimpleDateFormat("HH:mm:ss.SSS");
+            MappedLogSink.replay(directory, started, Long.MAX_VALUE,
+                    (time, message) -> System.out.println(format.format(new Date(time)) + " - " + message));
         }
     }
 }
@@ -72,38 +79,18 @@ class LogWriter extends Thread {
     @Override
     public void run() {
         Logger logger = Logger.getInstance();
+        LogCategory category = logger.category("writer." + threadId);
+        logger.setTenant(srn);
         for (int i = 1; i <= 10; i++) {
-            String message = srn + " - Thread-" + threadId + ": Log message " + i;
-            logger.log(message);
+            category.info("{} - Thread-{}: Log message {}").arg(srn).arg(threadId).arg(i).log();
 
+            int pause = random.nextInt(1000);
+            category.debug("Thread-{}: sleeping").arg(threadId).field("millis", pause).log();
             try {
-                Thread.sleep(random.nextInt(1000));
+                Thread.sleep(pause);
             } catch (InterruptedException e) {
                 e.printStackTrace();
             }
         }
     }
 }
-
-public class task1 {
-    public static void main(String[] args) {
-        int numThreads = 4;
-        Thread[] threads = new Thread[numThreads];
-        String srn = "PES1UG22CS360";
-
-        for (int i = 0; i < numThreads; i++) {
-            threads[i] = new LogWriter(srn, i + 1);
-            threads[i].start();
-        }
-
-        for (int i = 0; i < numThreads; i++) {
-            try {
-                threads[i].join();
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }
-
-        Logger.getInstance().displayLogs();
-    }
-}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.eventmaster.benchmark;
+
+import com.eventmaster.EventmasterApplication;
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventCategory;
+import com.eventmaster.model.EventStatus;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Boots the real application against an in-memory H2 database and builds sample events
+final class BenchmarkApplication {
+
+    static final String[] VENUES = {"Main Hall", "Auditorium", "Open Air", "Studio", "Arena"};
+
+    private BenchmarkApplication() {
+    }
+
+    // Passed as command-line arguments so they override application.properties; extra arguments win
+    static ConfigurableApplicationContext start(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=validate",
+                "--spring.jpa.show-sql=false",
+                "--server.port=0",
+                "--logging.level.root=WARN"));
+        for (String extraArg : extraArgs) {
+            // Spring joins repeated arguments with commas, so an extra one replaces the default
+            String name = extraArg.substring(0, extraArg.indexOf('=') + 1);
+            args.removeIf(arg -> arg.startsWith(name));
+            args.add(extraArg);
+        }
+        return new SpringApplicationBuilder(EventmasterApplication.class, SlowDatabaseConfiguration.class)
+                .run(args.toArray(new String[0]));
+    }
+
+    static Event event(int i) {
+        Event event = new Event();
+        event.setTitle("Benchmark event " + i);
+        event.setCategory(EventCategory.values()[i % EventCategory.values().length]);
+        event.setStatus(EventStatus.values()[i % EventStatus.values().length]);
+        event.setVenue(VENUES[i % VENUES.length]);
+        event.setDate(LocalDate.of(2025, 1, 1).plusDays(i % 365));
+        event.setTime(LocalTime.of(9 + i % 12, 0));
+        event.setMaxAttendees(100 + i % 900);
+        return event;
+    }
+
+    // CSV body accepted by POST /events/bulk
+    static byte[] csv(int rows) {
+        StringBuilder csv = new StringBuilder("title,category,date,time,venue,status,maxAttendees\n");
+        for (int i = 0; i < rows; i++) {
+            Event event = event(i);
+            csv.append(event.getTitle()).append(',')
+                    .append(event.getCategory().getLabel()).append(',')
+                    .append(event.getDate()).append(',')
+                    .append(event.getTime()).append(',')
+                    .append(event.getVenue()).append(',')
+                    .append(event.getStatus().getLabel()).append(',')
+                    .append(event.getMaxAttendees()).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
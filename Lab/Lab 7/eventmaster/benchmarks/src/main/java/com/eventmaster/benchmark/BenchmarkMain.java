@@ -0,0 +1,44 @@
+package com.eventmaster.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Runs JMH with the usual command-line options and always writes JSON results named after the current commit,
+// so two result files can be diffed (or loaded into jmh.morethan.io) to spot regressions.
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        Path results = Path.of("results");
+        Files.createDirectories(results);
+        Path output = results.resolve("jmh-" + currentCommit() + ".json");
+
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .resultFormat(ResultFormatType.JSON)
+                .result(output.toString())
+                .build();
+        new Runner(options).run();
+        System.out.println("Results written to " + output.toAbsolutePath());
+    }
+
+    private static String currentCommit() {
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String commit = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return git.waitFor() == 0 && !commit.isEmpty() ? commit : "local";
+        } catch (IOException e) {
+            return "local";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "local";
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.eventmaster.benchmark;
+
+import com.eventmaster.model.BulkImportResult;
+import com.eventmaster.service.EventBulkService;
+import com.eventmaster.service.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+// Time to load the same rows through POST /events/bulk versus one createEvent call per row
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkImportBenchmark {
+
+    @Param({"1000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private EventService eventService;
+    private EventBulkService eventBulkService;
+    private byte[] csv;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start();
+        eventService = context.getBean(EventService.class);
+        eventBulkService = context.getBean(EventBulkService.class);
+        csv = BenchmarkApplication.csv(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public BulkImportResult bulkImport() throws Exception {
+        return eventBulkService.importEvents(new ByteArrayInputStream(csv), EventBulkService.Format.CSV);
+    }
+
+    @Benchmark
+    public void singleSaves(Blackhole blackhole) {
+        for (int i = 0; i < rows; i++) {
+            blackhole.consume(eventService.createEvent(BenchmarkApplication.event(i)));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.eventmaster.benchmark;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.repository.EventRepository;
+import com.eventmaster.service.EventBulkService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// The MVC stack (servlet + JPA) against the reactive one (WebFlux + R2DBC, the "reactive" profile)
+// with a burst of `clients` concurrent connections per operation. The "requests" counter is the
+// rate of successful responses and "errors" the rate of failed ones (e.g. connection pool timeouts); after every iteration the peak heap growth per connection and the peak thread
+// count are printed. Client and server share the JVM, so those figures include the client's share,
+// which is the same for both stacks. Run with -prof gc for allocation per operation.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(value = 1, jvmArgs = {"-Xmx2g", "-Djdk.httpclient.keepalive.timeout=5"})
+public class ConcurrentClientsBenchmark {
+
+    private static final int ROWS = 1000;
+
+    @Param({"servlet", "reactive"})
+    private String stack;
+
+    @Param({"10000"})
+    private int clients;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private long firstId;
+    private long lastId;
+    private long heapBefore;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long requests;
+        public long errors;
+    }
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        context = BenchmarkApplication.start(
+                "--spring.profiles.active=" + ("reactive".equals(stack) ? "reactive" : "default"),
+                "--spring.r2dbc.url=r2dbc:h2:mem:///benchmark?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.r2dbc.username=sa",
+                "--spring.r2dbc.password=",
+                // Let every client connect instead of being refused, so both stacks see the full burst
+                "--server.tomcat.max-connections=" + (clients * 2),
+                "--server.tomcat.accept-count=" + clients,
+                "--logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=OFF", // counted as errors instead
+                "--eventmaster.cache.max-events=0"); // every request reaches the database
+        context.getBean(EventBulkService.class)
+                .importEvents(new ByteArrayInputStream(BenchmarkApplication.csv(ROWS)), EventBulkService.Format.CSV);
+        List<Event> all = context.getBean(EventRepository.class).findAll();
+        firstId = all.get(0).getId();
+        lastId = all.get(all.size() - 1).getId();
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeaks() {
+        System.gc();
+        heapBefore = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+                heapBefore += pool.getUsage().getUsed();
+            }
+        }
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportPeaks() {
+        long heapPeak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPeak += pool.getPeakUsage().getUsed();
+            }
+        }
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        System.out.printf("%n%s: peak heap growth %d KB per connection, peak threads %d%n",
+                stack, (heapPeak - heapBefore) / 1024 / clients, threads.getPeakThreadCount());
+    }
+
+    // One burst: all clients connect and request a random event at once
+    @Benchmark
+    public int burst(Counters counters) {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<HttpResponse<Void>>[] responses = new CompletableFuture[clients];
+        for (int i = 0; i < clients; i++) {
+            long id = ThreadLocalRandom.current().nextLong(firstId, lastId + 1);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/events/" + id)).GET().build();
+            responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        }
+        CompletableFuture.allOf(responses).join();
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() == 200) {
+                ok++;
+            }
+        }
+        counters.requests += ok;
+        counters.errors += clients - ok;
+        return ok;
+    }
+}
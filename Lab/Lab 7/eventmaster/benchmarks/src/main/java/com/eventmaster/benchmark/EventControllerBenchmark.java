@@ -0,0 +1,77 @@
+package com.eventmaster.benchmark;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.repository.EventRepository;
+import com.eventmaster.service.EventBulkService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Full MVC round-trip (dispatch, argument binding, service, Jackson) through MockMvc, without a socket
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventControllerBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private long firstId;
+    private long lastId;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        context = BenchmarkApplication.start();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        context.getBean(EventBulkService.class)
+                .importEvents(new ByteArrayInputStream(BenchmarkApplication.csv(ROWS)), EventBulkService.Format.CSV);
+        List<Event> all = context.getBean(EventRepository.class).findAll();
+        firstId = all.get(0).getId();
+        lastId = all.get(all.size() - 1).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult getEventById() throws Exception {
+        return mockMvc.perform(get("/events/{id}", ThreadLocalRandom.current().nextLong(firstId, lastId + 1))).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getFilteredList() throws Exception {
+        return mockMvc.perform(get("/events").param("category", "Educational").param("venue", "Studio")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getPage() throws Exception {
+        return mockMvc.perform(get("/events/page").param("size", "50")).andReturn();
+    }
+}
@@ -0,0 +1,148 @@
+package com.eventmaster.benchmark;
+
+import com.eventmaster.model.EventCategory;
+import com.eventmaster.model.EventStatus;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Category and status as one-byte codes (the schema since V4, "code") against the varchar labels stored
+// before it ("label": the same table with the two columns turned back into varchar(255)), over 1M rows
+// with the same four indexes. The database is a file here, since H2 reports no size for an in-memory
+// one: each trial prints the compacted file growth for the rows and for the indexes, and the benchmarks
+// time the filters that go through the category and status indexes. Rows are read with plain JDBC,
+// since the entity only maps the codes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventEnumEncodingBenchmark {
+
+    private static final String[] INDEXES = {
+            "idx_event_category_date", "idx_event_status_date", "idx_event_venue_date", "idx_event_date_time"};
+
+    private static final String SELECT = "select id, title, category, date, time, venue, status from event where ";
+
+    private static final LocalDate MONTH_FROM = LocalDate.of(2025, 3, 1);
+    private static final LocalDate MONTH_TO = LocalDate.of(2025, 3, 31);
+    private static final LocalDate WEEK_FROM = LocalDate.of(2025, 6, 1);
+    private static final LocalDate WEEK_TO = LocalDate.of(2025, 6, 7);
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"code", "label"})
+    private String encoding;
+
+    private Path dir;
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbc;
+    private Object entertainment;
+    private Object soldOut;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        dir = Files.createTempDirectory("encoding-benchmark");
+        // No query cache, as in EventFilterIndexBenchmark; a page cache large enough for the whole table
+        context = BenchmarkApplication.start("--spring.datasource.url=jdbc:h2:file:" + dir.resolve("benchmark")
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;QUERY_CACHE_SIZE=0;CACHE_SIZE=524288");
+        jdbc = new JdbcTemplate(context.getBean(HikariDataSource.class));
+        boolean codes = encoding.equals("code");
+        entertainment = codes ? EventCategory.ENTERTAINMENT.getCode() : EventCategory.ENTERTAINMENT.getLabel();
+        soldOut = codes ? EventStatus.SOLD_OUT.getCode() : EventStatus.SOLD_OUT.getLabel();
+
+        // Indexes are created after the rows in both layouts, so both are built the same way
+        for (String index : INDEXES) {
+            jdbc.execute("drop index " + index + " on event");
+        }
+        if (!codes) {
+            jdbc.execute("alter table event alter column category set data type varchar(255)");
+            jdbc.execute("alter table event alter column status set data type varchar(255)");
+        }
+        long empty = compactedSize();
+        // Same rows as EventFilterIndexBenchmark; system_range names its column X, which DATABASE_TO_LOWER
+        // only finds quoted
+        jdbc.update("insert into event (title, category, status, venue, date, time, max_attendees, current_attendees)"
+                + " select 'Benchmark event ' || n,"
+                + " " + stored(codes, "mod(n, 3) + 1", Arrays.stream(EventCategory.values())
+                        .collect(Collectors.toMap(EventCategory::getCode, EventCategory::getLabel))) + ","
+                + " " + stored(codes, "mod(n, 4) + 1", Arrays.stream(EventStatus.values())
+                        .collect(Collectors.toMap(EventStatus::getCode, EventStatus::getLabel))) + ","
+                + " case mod(n, 5) when 0 then 'Main Hall' when 1 then 'Auditorium' when 2 then 'Open Air'"
+                + " when 3 then 'Studio' else 'Arena' end,"
+                + " dateadd(day, mod(n, 365), date '2025-01-01'), dateadd(hour, 9 + mod(n, 12), time '00:00:00'),"
+                + " 100 + mod(n, 900), 0"
+                + " from (select \"X\" as n from system_range(0, ? - 1))", rows);
+        long table = compactedSize();
+        jdbc.execute("create index idx_event_category_date on event (category, date)");
+        jdbc.execute("create index idx_event_status_date on event (status, date)");
+        jdbc.execute("create index idx_event_venue_date on event (venue, date)");
+        jdbc.execute("create index idx_event_date_time on event (date, time)");
+        long indexed = compactedSize();
+        jdbc.execute("analyze");
+        System.out.printf("%s: rows %,d KB, indexes %,d KB, total %,d KB%n",
+                encoding, (table - empty) / 1024, (indexed - table) / 1024, (indexed - empty) / 1024);
+    }
+
+    // The column as stored: the code itself, or the label that code stands for
+    private static String stored(boolean codes, String code, Map<Byte, String> labels) {
+        if (codes) {
+            return code;
+        }
+        StringBuilder label = new StringBuilder("case " + code);
+        labels.forEach((value, text) -> label.append(" when ").append(value).append(" then '").append(text).append("'"));
+        return label.append(" end").toString();
+    }
+
+    // Size of the database file once rewritten without free space. The shutdown closes the database under
+    // the pool, which then replaces its connections; the next one reopens the file.
+    private long compactedSize() throws IOException {
+        jdbc.execute("shutdown compact");
+        context.getBean(HikariDataSource.class).getHikariPoolMXBean().softEvictConnections();
+        return Files.size(dir.resolve("benchmark.mv.db"));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(dir);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> categoryMonth() {
+        return jdbc.queryForList(SELECT + "category = ? and date >= ? and date <= ? order by id",
+                entertainment, MONTH_FROM, MONTH_TO);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> statusWeek() {
+        return jdbc.queryForList(SELECT + "status = ? and date >= ? and date <= ? order by id",
+                soldOut, WEEK_FROM, WEEK_TO);
+    }
+}
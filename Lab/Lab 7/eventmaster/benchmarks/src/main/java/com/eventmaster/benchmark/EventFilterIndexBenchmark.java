@@ -0,0 +1,118 @@
+package com.eventmaster.benchmark;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventCategory;
+import com.eventmaster.model.EventFilter;
+import com.eventmaster.model.EventStatus;
+import com.eventmaster.repository.EventRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Filtered listings (EventRepository.findMatching) over 1M rows with the filter indexes in place and with
+// them dropped, so that every filter walks the whole table. Rows are generated in SQL the way
+// BenchmarkApplication.event(i) builds them; each trial prints the EXPLAIN plan of every filter so the
+// index choice can be checked next to the timings.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventFilterIndexBenchmark {
+
+    private static final String[] INDEXES = {
+            "idx_event_category_date", "idx_event_status_date", "idx_event_venue_date", "idx_event_date_time"};
+
+    // Same column list and predicate order as the Criteria query in EventRepositoryImpl
+    private static final String SELECT = "select id, category, current_attendees, date, max_attendees, status,"
+            + " time, title, venue, version from event where ";
+
+    private static final EventFilter COMBINED = new EventFilter(EventCategory.ENTERTAINMENT, EventStatus.AVAILABLE,
+            BenchmarkApplication.VENUES[0], LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31));
+    private static final EventFilter VENUE_WEEK = new EventFilter(null, null,
+            BenchmarkApplication.VENUES[1], LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 7));
+    private static final EventFilter DAY = new EventFilter(null, null, null,
+            LocalDate.of(2025, 9, 1), LocalDate.of(2025, 9, 1));
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"indexed", "scan"})
+    private String plan;
+
+    private ConfigurableApplicationContext context;
+    private EventRepository eventRepository;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // H2 otherwise answers a repeated query from its result cache while the table is unchanged
+        context = BenchmarkApplication.start("--spring.datasource.url="
+                + "jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=0");
+        eventRepository = context.getBean(EventRepository.class);
+        JdbcTemplate jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+        // system_range names its column X, which DATABASE_TO_LOWER only finds quoted
+        jdbc.update("insert into event (title, category, status, venue, date, time, max_attendees, current_attendees)"
+                + " select 'Benchmark event ' || n, mod(n, 3) + 1, mod(n, 4) + 1,"
+                + " case mod(n, 5) when 0 then 'Main Hall' when 1 then 'Auditorium' when 2 then 'Open Air'"
+                + " when 3 then 'Studio' else 'Arena' end,"
+                + " dateadd(day, mod(n, 365), date '2025-01-01'), dateadd(hour, 9 + mod(n, 12), time '00:00:00'),"
+                + " 100 + mod(n, 900), 0"
+                + " from (select \"X\" as n from system_range(0, ? - 1))", rows);
+        if (plan.equals("scan")) {
+            for (String index : INDEXES) {
+                jdbc.execute("drop index " + index + " on event");
+            }
+        }
+        jdbc.execute("analyze");
+
+        explain(jdbc, "category + status + venue + month", "category = ? and status = ? and venue = ?"
+                        + " and date >= ? and date <= ? order by id", COMBINED.category().getCode(),
+                COMBINED.status().getCode(), COMBINED.venue(), COMBINED.from(), COMBINED.to());
+        explain(jdbc, "venue + week", "venue = ? and date >= ? and date <= ? order by id",
+                VENUE_WEEK.venue(), VENUE_WEEK.from(), VENUE_WEEK.to());
+        explain(jdbc, "day", "date >= ? and date <= ? order by id", DAY.from(), DAY.to());
+    }
+
+    private static void explain(JdbcTemplate jdbc, String filter, String where, Object... args) {
+        List<String> plan = jdbc.queryForList("explain " + SELECT + where, String.class, args);
+        System.out.println(filter + ":\n" + String.join("\n", plan));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Event> combined() {
+        return eventRepository.findMatching(COMBINED);
+    }
+
+    @Benchmark
+    public List<Event> venueWeek() {
+        return eventRepository.findMatching(VENUE_WEEK);
+    }
+
+    @Benchmark
+    public List<Event> day() {
+        return eventRepository.findMatching(DAY);
+    }
+}
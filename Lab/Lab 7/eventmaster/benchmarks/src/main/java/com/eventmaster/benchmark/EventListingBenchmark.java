@@ -0,0 +1,71 @@
+package com.eventmaster.benchmark;
+
+import com.eventmaster.service.EventBulkService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// GET /events over the whole table as entities, as a selected column list and as list-view summaries.
+// Run with -prof gc and compare gc.alloc.rate.norm (bytes allocated per request).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventListingBenchmark {
+
+    @Param({"2000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        context = BenchmarkApplication.start();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        context.getBean(EventBulkService.class)
+                .importEvents(new ByteArrayInputStream(BenchmarkApplication.csv(rows)), EventBulkService.Format.CSV);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult entities() throws Exception {
+        return mockMvc.perform(get("/events")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult fields() throws Exception {
+        return mockMvc.perform(get("/events").param("fields", "id,title,date,status,remainingSeats")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult summaries() throws Exception {
+        return mockMvc.perform(get("/events/summaries")).andReturn();
+    }
+}
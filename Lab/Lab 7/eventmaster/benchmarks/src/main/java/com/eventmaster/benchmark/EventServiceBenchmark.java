@@ -0,0 +1,111 @@
+package com.eventmaster.benchmark;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventCategory;
+import com.eventmaster.model.EventFilter;
+import com.eventmaster.model.EventPage;
+import com.eventmaster.model.EventStatus;
+import com.eventmaster.repository.EventRepository;
+import com.eventmaster.service.EventBulkService;
+import com.eventmaster.service.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// EventService hot paths against H2; the *Uncached variants go straight to the repository
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventServiceBenchmark {
+
+    private static final EventFilter FILTER =
+            new EventFilter(EventCategory.EDUCATIONAL, EventStatus.UPCOMING, "Studio", null, null);
+
+    @Param({"10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private EventService eventService;
+    private EventRepository eventRepository;
+    private long firstId;
+    private long lastId;
+    private int created;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        context = BenchmarkApplication.start();
+        eventService = context.getBean(EventService.class);
+        eventRepository = context.getBean(EventRepository.class);
+        context.getBean(EventBulkService.class)
+                .importEvents(new ByteArrayInputStream(BenchmarkApplication.csv(rows)), EventBulkService.Format.CSV);
+        List<Event> all = eventRepository.findAll();
+        firstId = all.get(0).getId();
+        lastId = all.get(all.size() - 1).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(firstId, lastId + 1);
+    }
+
+    @Benchmark
+    public Event createEvent() {
+        return eventService.createEvent(BenchmarkApplication.event(created++));
+    }
+
+    @Benchmark
+    public Optional<Event> getEventById() {
+        return eventService.getEventById(randomId());
+    }
+
+    @Benchmark
+    public Optional<Event> getEventByIdUncached() {
+        return eventRepository.findById(randomId());
+    }
+
+    @Benchmark
+    public List<Event> listFiltered() {
+        return eventService.getAllEvents(FILTER);
+    }
+
+    @Benchmark
+    public List<Event> listFilteredUncached() {
+        return eventRepository.findMatching(FILTER);
+    }
+
+    @Benchmark
+    public EventPage firstPage() {
+        return eventService.getEventPage(EventFilter.NONE, null, EventService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Event updateEvent() {
+        long id = randomId();
+        Event update = BenchmarkApplication.event((int) id);
+        return eventService.updateEvent(id, update, null);
+    }
+}
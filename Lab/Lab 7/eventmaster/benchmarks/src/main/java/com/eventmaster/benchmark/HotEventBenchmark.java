@@ -0,0 +1,66 @@
+package com.eventmaster.benchmark;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.service.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Every request asks for the same event, as during a ticket drop: served from the event cache through
+// Jackson (hot=false) or as the bytes encoded at its last change (hot=true).
+// Run with -prof gc and compare gc.alloc.rate.norm (bytes allocated per request).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HotEventBenchmark {
+
+    @Param({"false", "true"})
+    private boolean hot;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private long id;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start(
+                "--eventmaster.hot-events.enabled=" + hot,
+                "--eventmaster.hot-events.min-requests=1",
+                "--eventmaster.hot-events.window=100ms");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        Event event = BenchmarkApplication.event(1);
+        id = context.getBean(EventService.class).createEvent(event).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult getHotEvent() throws Exception {
+        return mockMvc.perform(get("/events/{id}", id)).andReturn();
+    }
+}
@@ -0,0 +1,75 @@
+package com.eventmaster.benchmark;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventStatus;
+import com.eventmaster.repository.EventRepository;
+import com.eventmaster.service.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Concurrent registrations spread over a few hot events, written straight through (one conditional
+// UPDATE each) versus write-behind (in-memory check, batched UPDATE per flush), with a slow database
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class RegistrationBenchmark {
+
+    private static final int EVENTS = 20;
+
+    @Param({"false", "true"})
+    private boolean writeBehind;
+
+    @Param({"2"})
+    private long dbLatencyMillis;
+
+    private ConfigurableApplicationContext context;
+    private EventService eventService;
+    private final List<Long> ids = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start(
+                "--eventmaster.registration.write-behind.enabled=" + writeBehind,
+                "--" + SlowDatabaseConfiguration.LATENCY_PROPERTY + "=" + dbLatencyMillis);
+        eventService = context.getBean(EventService.class);
+        EventRepository eventRepository = context.getBean(EventRepository.class);
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = BenchmarkApplication.event(i);
+            event.setStatus(EventStatus.AVAILABLE);
+            event.setMaxAttendees(Integer.MAX_VALUE); // never sells out during a run
+            ids.add(eventRepository.save(event).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Event register() {
+        return eventService.registerAttendees(ids.get(ThreadLocalRandom.current().nextInt(EVENTS)), 1);
+    }
+}
@@ -0,0 +1,62 @@
+package com.eventmaster.benchmark;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.service.EventSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Typeahead queries against the in-memory search index alone (no database), from an exact rare word
+// to a one-letter prefix that matches every event
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class SearchIndexBenchmark {
+
+    private static final int BATCH = 10_000;
+
+    @Param({"1000000"})
+    private int events;
+
+    @Param({"benchmark event 424242", "benchmark ev", "aud", "main hall 77", "b"})
+    private String query;
+
+    private EventSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void build() {
+        index = new EventSearchIndex();
+        List<Event> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < events; i++) {
+            Event event = BenchmarkApplication.event(i);
+            event.setId((long) i + 1);
+            batch.add(event);
+            if (batch.size() == BATCH) {
+                index.eventsCreated(batch);
+                batch.clear();
+            }
+        }
+        index.eventsCreated(batch);
+    }
+
+    @Benchmark
+    public List<Long> search() {
+        return index.search(query, 20);
+    }
+}
@@ -0,0 +1,80 @@
+package com.eventmaster.benchmark;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Adds a fixed delay to every statement execution, standing in for a slow or remote MySQL
+@Configuration(proxyBeanMethods = false)
+class SlowDatabaseConfiguration {
+
+    static final String LATENCY_PROPERTY = "benchmark.db-latency-ms";
+
+    @Bean
+    static BeanPostProcessor slowDataSourcePostProcessor(Environment environment) {
+        long latencyMillis = environment.getProperty(LATENCY_PROPERTY, Long.class, 0L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && latencyMillis > 0) {
+                    return new SlowDataSource(dataSource, latencyMillis);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static final class SlowDataSource extends DelegatingDataSource {
+
+        private final long latencyMillis;
+
+        SlowDataSource(DataSource target, long latencyMillis) {
+            super(target);
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return slow(super.getConnection(), Connection.class);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return slow(super.getConnection(username, password), Connection.class);
+        }
+
+        // Connections hand out slow statements; statements sleep before each execute*
+        private <T> T slow(T target, Class<T> type) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                if (target instanceof Statement && method.getName().startsWith("execute")) {
+                    Thread.sleep(latencyMillis);
+                }
+                try {
+                    Object result = method.invoke(target, args);
+                    if (result instanceof Statement && method.getReturnType().isInterface()) {
+                        return slow(result, castType(method.getReturnType()));
+                    }
+                    return result;
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            };
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> Class<T> castType(Class<?> type) {
+            return (Class<T>) type;
+        }
+    }
+}
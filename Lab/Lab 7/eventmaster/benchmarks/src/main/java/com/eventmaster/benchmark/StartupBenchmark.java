@@ -0,0 +1,134 @@
+package com.eventmaster.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Time from launching the packaged application (mvn -Pprod package, see pom.xml) to its first answered
+// GET /events/summaries, one fresh JVM per invocation against an in-memory H2 database:
+//   dev           default profile: ddl-auto=update after the migrations, JDBC metadata read at boot
+//   prod          "prod" profile: migrations only, no JDBC metadata access
+//   prod-aot      prod with the bean definitions generated at build time
+//   prod-aot-cds  prod-aot with the CDS archive of the build's training run
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    @Param({"dev", "prod", "prod-aot", "prod-aot-cds"})
+    private String mode;
+
+    // Output of mvn -Pprod package, relative to the benchmarks directory
+    @Param({"../target/application"})
+    private String app;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private Process process;
+    private boolean answered;
+    private Path log;
+    private URI uri;
+    private List<String> command;
+
+    @Setup(Level.Invocation)
+    public void prepare() throws Exception {
+        Path dir = Path.of(app).toAbsolutePath().normalize();
+        Path jar;
+        try (var files = Files.list(dir)) {
+            jar = files.filter(file -> file.getFileName().toString().endsWith("-exec.jar")).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No application in " + dir + "; run mvn -Pprod package first"));
+        }
+        Path h2 = Path.of(org.h2.Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        uri = URI.create("http://localhost:" + port + "/events/summaries");
+
+        command = new ArrayList<>(List.of(Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+        if (mode.endsWith("-cds")) {
+            command.add("-XX:SharedArchiveFile=" + dir.resolve("application.jsa"));
+        }
+        command.add("-Dspring.aot.enabled=" + mode.contains("-aot"));
+        // The archive was dumped with the application jar alone; appending H2 keeps it usable
+        command.addAll(List.of("-cp", jar + File.pathSeparator + h2, "com.eventmaster.EventmasterApplication",
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:startup;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.flyway.locations=classpath:db/migration/common,classpath:db/migration/h2",
+                "--logging.level.root=WARN"));
+        if (mode.startsWith("prod")) {
+            command.add("--spring.profiles.active=prod");
+        }
+        log = Files.createTempFile("startup-" + mode, ".log");
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws Exception {
+        answered = false;
+        process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        HttpRequest request = HttpRequest.newBuilder(uri).build();
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    answered = true;
+                    return response.statusCode();
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(20); // startup takes seconds; polling harder only steals CPU from it
+        }
+        throw new IllegalStateException("No response within " + TIMEOUT + ", see " + log);
+    }
+
+    @TearDown(Level.Invocation)
+    public void shutDown() throws InterruptedException, IOException {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            process = null;
+        }
+        if (answered) {
+            Files.deleteIfExists(log); // kept for a failed start
+        }
+    }
+}
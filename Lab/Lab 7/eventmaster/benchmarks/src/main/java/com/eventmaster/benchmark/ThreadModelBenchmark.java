@@ -0,0 +1,86 @@
+package com.eventmaster.benchmark;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.repository.EventRepository;
+import com.eventmaster.service.EventBulkService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Many concurrent HTTP clients against a real Tomcat with a slow database, with request handling on
+// platform threads versus virtual threads. Throughput plus the SampleTime percentiles (p99, p99.9)
+// show where the platform pool saturates.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(400)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class ThreadModelBenchmark {
+
+    private static final int ROWS = 1000;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"20"})
+    private long dbLatencyMillis;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private long firstId;
+    private long lastId;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        context = BenchmarkApplication.start(
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--" + SlowDatabaseConfiguration.LATENCY_PROPERTY + "=" + dbLatencyMillis,
+                "--eventmaster.cache.max-events=0"); // every request reaches the database
+        context.getBean(EventBulkService.class)
+                .importEvents(new ByteArrayInputStream(BenchmarkApplication.csv(ROWS)), EventBulkService.Format.CSV);
+        List<Event> all = context.getBean(EventRepository.class).findAll();
+        firstId = all.get(0).getId();
+        lastId = all.get(all.size() - 1).getId();
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        client = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getEventById() throws Exception {
+        long id = ThreadLocalRandom.current().nextLong(firstId, lastId + 1);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/events/" + id)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
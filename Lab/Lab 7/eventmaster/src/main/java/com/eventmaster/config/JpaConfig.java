@@ -0,0 +1,15 @@
+package com.eventmaster.config;
+
+import com.eventmaster.repository.EventRepository;
+import com.eventmaster.repository.ReactiveEventRepository;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+// JPA repositories; the R2DBC one next to them belongs to the reactive deployment (see ReactiveConfig)
+@Configuration
+@EnableJpaRepositories(basePackageClasses = EventRepository.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = ReactiveEventRepository.class))
+public class JpaConfig {
+}
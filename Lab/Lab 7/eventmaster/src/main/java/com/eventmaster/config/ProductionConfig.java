@@ -0,0 +1,60 @@
+package com.eventmaster.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// "prod" profile: nothing touches the database while the context refreshes (no schema diffing, no JDBC
+// metadata, see application-prod.properties). Migrations run first thing on start instead, so the
+// build's AOT processing and CDS training run work without a database.
+@Configuration
+@Profile("prod")
+public class ProductionConfig {
+
+    // Boot runs the strategy while it creates beans; leave that empty and migrate on start
+    @Bean
+    public FlywayMigrationStrategy deferredMigrationStrategy() {
+        return flyway -> {
+        };
+    }
+
+    @Bean
+    public MigrateOnStart migrateOnStart(Flyway flyway) {
+        return new MigrateOnStart(flyway);
+    }
+
+    // Applies pending migrations before the search index and aggregates load and before the web server starts
+    public static class MigrateOnStart implements SmartLifecycle {
+
+        private final Flyway flyway;
+        private volatile boolean running;
+
+        MigrateOnStart(Flyway flyway) {
+            this.flyway = flyway;
+        }
+
+        @Override
+        public void start() {
+            flyway.migrate();
+            running = true;
+        }
+
+        @Override
+        public void stop() {
+            running = false;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+
+        @Override
+        public int getPhase() {
+            return DEFAULT_PHASE - 16384;
+        }
+    }
+}
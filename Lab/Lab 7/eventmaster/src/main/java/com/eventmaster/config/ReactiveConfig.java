@@ -0,0 +1,95 @@
+package com.eventmaster.config;
+
+import com.eventmaster.model.EventCategory;
+import com.eventmaster.model.EventStatus;
+import com.eventmaster.repository.EventRepository;
+import com.eventmaster.repository.ReactiveEventRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import java.util.List;
+
+// Reactive deployment only: R2DBC repositories next to the JDBC pool, WebFlux query parameter conversion,
+// and category and status stored as the same one-byte codes the JPA converters use
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(DataSourceProperties.class)
+@EnableR2dbcRepositories(basePackageClasses = ReactiveEventRepository.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = EventRepository.class))
+public class ReactiveConfig implements WebFluxConfigurer {
+
+    // Boot skips the JDBC pool once an R2DBC ConnectionFactory exists; Flyway and JPA still need it
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    // Transactions on the R2DBC connections for reactive seat updates. Not a transaction manager bean,
+    // which would displace the JPA one that everything else runs on.
+    @Bean
+    public TransactionalOperator reactiveTransactions(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    // Query parameters use the same labels as JSON, as in WebConfig
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        WebConfig.addEventConverters(registry);
+    }
+
+    @Bean
+    public R2dbcCustomConversions r2dbcCustomConversions(ConnectionFactory connectionFactory) {
+        return R2dbcCustomConversions.of(DialectResolver.getDialect(connectionFactory), List.of(
+                new CategoryToCode(), new CodeToCategory(), new StatusToCode(), new CodeToStatus()));
+    }
+
+    @WritingConverter
+    static class CategoryToCode implements Converter<EventCategory, Byte> {
+        @Override
+        public Byte convert(EventCategory category) {
+            return category.getCode();
+        }
+    }
+
+    @ReadingConverter
+    static class CodeToCategory implements Converter<Byte, EventCategory> {
+        @Override
+        public EventCategory convert(Byte code) {
+            return EventCategory.fromCode(code);
+        }
+    }
+
+    @WritingConverter
+    static class StatusToCode implements Converter<EventStatus, Byte> {
+        @Override
+        public Byte convert(EventStatus status) {
+            return status.getCode();
+        }
+    }
+
+    @ReadingConverter
+    static class CodeToStatus implements Converter<Byte, EventStatus> {
+        @Override
+        public EventStatus convert(Byte code) {
+            return EventStatus.fromCode(code);
+        }
+    }
+}
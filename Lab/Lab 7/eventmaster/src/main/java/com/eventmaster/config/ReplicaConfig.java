@@ -0,0 +1,65 @@
+package com.eventmaster.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Read replica, on when eventmaster.datasource.replica.url is set: read-only transactions (the
+// repository's finders and the read-only EventService getters) use the replica pool, everything else the
+// primary pool of spring.datasource. The lazy proxy fetches the real connection at the first statement,
+// once the transaction's read-only flag is known. Servlet stack only; reactive reads go through R2DBC.
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "eventmaster.datasource.replica", name = "url")
+public class ReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    // url, username, password and driver-class-name under eventmaster.datasource.replica; not a candidate
+    // for injection, so spring.datasource keeps being the only DataSourceProperties
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties("eventmaster.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("eventmaster.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource() {
+        return replicaDataSourceProperties().initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaReadDataSource replicaReadDataSource(
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Value("${eventmaster.datasource.replica.max-lag:1s}") Duration maxLag,
+            @Value("${eventmaster.datasource.replica.heartbeat:250ms}") Duration heartbeat,
+            @Value("${eventmaster.datasource.replica.retry-after:10s}") Duration retryAfter) {
+        return new ReplicaReadDataSource(replica, primary, maxLag, heartbeat, retryAfter);
+    }
+
+    // What JPA, Flyway and JdbcTemplate use
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary, ReplicaReadDataSource replicaReads) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(replicaReads);
+        return proxy;
+    }
+}
@@ -0,0 +1,134 @@
+package com.eventmaster.config;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.service.EventChangeListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.Ordered;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Connections for read-only transactions. They come from the replica, except:
+//  - while the replica lags by more than maxLag. Every heartbeat the primary's replica_heartbeat row is
+//    stamped with the time and read back from the replica; the age of the stamp found there is the lag,
+//    to within one heartbeat;
+//  - until the replica has a stamp written after the last change made through this instance, so a client
+//    reads its own writes (and the caches are not refilled with rows the replica has not caught up with);
+//  - for retryAfter once the replica refused a connection.
+// All of them use the primary instead. Instances stamp the same row, so their clocks should agree.
+public class ReplicaReadDataSource extends DelegatingDataSource implements EventChangeListener, SmartLifecycle, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaReadDataSource.class);
+
+    private final DataSource primary;
+    private final long maxLagMillis;
+    private final long heartbeatMillis;
+    private final long retryAfterNanos;
+    // Wall-clock milliseconds, comparable with the stamps
+    private volatile long lastChange;
+    private volatile long replicaBeat;
+    private volatile long replicaDownSince = System.nanoTime() - Long.MAX_VALUE / 2;
+    private volatile boolean running;
+    private ScheduledExecutorService heartbeat;
+
+    public ReplicaReadDataSource(DataSource replica, DataSource primary, Duration maxLag, Duration heartbeat,
+                                 Duration retryAfter) {
+        super(replica);
+        this.primary = primary;
+        this.maxLagMillis = maxLag.toMillis();
+        this.heartbeatMillis = Math.max(1, heartbeat.toMillis());
+        this.retryAfterNanos = retryAfter.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!usingReplica()) {
+            return primary.getConnection();
+        }
+        try {
+            return getTargetDataSource().getConnection();
+        } catch (SQLException e) {
+            replicaDownSince = System.nanoTime();
+            log.warn("Replica unavailable, reading from the primary for the next {} ms", retryAfterNanos / 1_000_000, e);
+            return primary.getConnection();
+        }
+    }
+
+    // Whether reads go to the replica right now. The stamp keeps ageing between heartbeats, so a replica
+    // that stopped answering them falls behind maxLag as well.
+    public boolean usingReplica() {
+        long beat = replicaBeat;
+        return beat > lastChange
+                && System.currentTimeMillis() - beat <= maxLagMillis
+                && System.nanoTime() - replicaDownSince >= retryAfterNanos;
+    }
+
+    // Stamp the primary, then see which stamp the replica has; a failure leaves the last one to age
+    void beat() {
+        try {
+            new JdbcTemplate(primary).update("update replica_heartbeat set beat = ? where id = 1", System.currentTimeMillis());
+            Long seen = new JdbcTemplate(getTargetDataSource()).queryForObject(
+                    "select beat from replica_heartbeat where id = 1", Long.class);
+            replicaBeat = seen == null ? 0 : seen;
+        } catch (DataAccessException e) {
+            log.debug("Replica heartbeat failed", e);
+        }
+    }
+
+    // Notified after commit, so a stamp newer than this one was written after the change
+    @Override
+    public void eventChanged(Event before, Event after) {
+        lastChange = System.currentTimeMillis();
+    }
+
+    @Override
+    public void eventsCreated(List<Event> events) {
+        lastChange = System.currentTimeMillis();
+    }
+
+    @Override
+    public void eventsWritten(Collection<Long> ids) {
+        lastChange = System.currentTimeMillis();
+    }
+
+    // Ahead of the caches: once they drop a changed event, the next read must already go to the primary,
+    // or it could put the replica's older row back
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public void start() {
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleWithFixedDelay(this::beat, 0, heartbeatMillis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        heartbeat.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,37 @@
+package com.eventmaster.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lets through at most maxPerSecond lines of Hibernate's slow-query log per second and drops the rest
+public class SlowQueryLogSampler extends TurboFilter {
+
+    static final String SLOW_QUERY_LOGGER = "org.hibernate.SQL_SLOW";
+
+    private int maxPerSecond = 5;
+    private final AtomicLong currentSecond = new AtomicLong();
+    private final AtomicInteger emitted = new AtomicInteger();
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!SLOW_QUERY_LOGGER.equals(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        long second = System.currentTimeMillis() / 1000;
+        long window = currentSecond.get();
+        if (window != second && currentSecond.compareAndSet(window, second)) {
+            emitted.set(0);
+        }
+        return emitted.incrementAndGet() <= maxPerSecond ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
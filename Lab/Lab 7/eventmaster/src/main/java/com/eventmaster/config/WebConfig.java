@@ -0,0 +1,23 @@
+package com.eventmaster.config;
+
+import com.eventmaster.model.EventCategory;
+import com.eventmaster.model.EventStatus;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    // Query parameters use the same labels as JSON ("Sold Out"); unknown values are rejected with 400
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        addEventConverters(registry);
+    }
+
+    // Shared with the WebFlux configuration of the reactive deployment
+    static void addEventConverters(FormatterRegistry registry) {
+        registry.addConverter(String.class, EventCategory.class, EventCategory::fromLabel);
+        registry.addConverter(String.class, EventStatus.class, EventStatus::fromLabel);
+    }
+}
@@ -1,45 +1,213 @@
 package com.eventmaster.controller;
 
+import com.eventmaster.model.BulkImportResult;
 import com.eventmaster.model.Event;
+import com.eventmaster.model.EventFilter;
+import com.eventmaster.model.EventPage;
+import com.eventmaster.model.EventPatch;
+import com.eventmaster.model.EventSlice;
+import com.eventmaster.model.EventStatistics;
+import com.eventmaster.model.EventSummary;
+import com.eventmaster.service.EventBulkService;
+import com.eventmaster.service.EventCache;
 import com.eventmaster.service.EventService;
+import com.eventmaster.service.HotEventSnapshots;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/events")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class EventController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     @Autowired
     private EventService eventService;
 
+    @Autowired
+    private EventBulkService eventBulkService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Present only with eventmaster.hot-events.enabled=true
+    @Autowired(required = false)
+    private HotEventSnapshots hotEvents;
+
     // Create a new event
     @PostMapping("/save")
     public Event createEvent(@RequestBody Event event) {
         return eventService.createEvent(event);
     }
 
-    // Retrieve event by ID
+    // Retrieve event by ID; the version is its ETag, and a matching If-None-Match gets a 304 without a body.
+    // An unknown id is a 404 without an ETag. There is no Last-Modified: rows keep no change time, and the
+    // strong ETag already validates on its own (If-Modified-Since alone is answered in full)
     @GetMapping("/{id}")
-    public Optional<Event> getEventById(@PathVariable Long id) {
-        return eventService.getEventById(id);
+    public ResponseEntity<Event> getEventById(@PathVariable Long id, WebRequest request, HttpServletResponse response)
+            throws IOException {
+        HotEventSnapshots.Snapshot hot = hotEvents == null ? null : hotEvents.lookup(id);
+        if (hot != null) {
+            // Hot event: the bytes encoded at its last change, no lookup and no serialization
+            if (!request.checkNotModified(hot.etag())) {
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.setContentLength(hot.json().length);
+                response.getOutputStream().write(hot.json());
+            }
+            return null;
+        }
+        Optional<Event> event = eventService.getEventById(id);
+        if (event.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().eTag(Long.toString(event.get().getVersion())).body(event.get());
     }
 
-    // Retrieve all events (with optional filters)
+    // Retrieve all events (with optional category, status, venue and from/to date filters, combined);
+    // fields=id,title,... selects only those columns instead of whole events
     @GetMapping
-    public List<Event> getAllEvents(
-            @RequestParam(required = false) String category,
-            @RequestParam(required = false) String status,
-            @RequestParam(required = false) String venue) {
-        return eventService.getAllEvents(category, status, venue);
+    public List<?> getAllEvents(EventFilter filter, @RequestParam(required = false) List<String> fields, WebRequest request) {
+        if (listNotModified(request)) {
+            return null;
+        }
+        if (fields == null || fields.isEmpty()) {
+            return eventService.getAllEvents(filter);
+        }
+        return eventService.getEventFields(filter, fields);
+    }
+
+    // Id, title, date, status and remaining seats of all matching events, for list views
+    @GetMapping("/summaries")
+    public List<EventSummary> getEventSummaries(EventFilter filter, WebRequest request) {
+        if (listNotModified(request)) {
+            return null;
+        }
+        return eventService.getEventSummaries(filter);
+    }
+
+    // Typeahead search over titles and venues, e.g. /events/search?q=jazz fe
+    @GetMapping("/search")
+    public List<Event> searchEvents(@RequestParam String q, @RequestParam(required = false) Integer limit) {
+        return eventService.searchEvents(q, limit);
+    }
+
+    // Retrieve matching events one keyset page at a time
+    @GetMapping("/page")
+    public EventPage getEventPage(
+            EventFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        if (listNotModified(request)) {
+            return null;
+        }
+        return eventService.getEventPage(filter, cursor, size);
+    }
+
+    // Retrieve events scheduled in a date range, soonest first (defaults to upcoming events from today)
+    @GetMapping("/schedule")
+    public EventSlice getSchedule(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        return eventService.getEventsBetween(from == null ? LocalDate.now() : from, to, page, size);
+    }
+
+    // Stream all matching events as newline-delimited JSON while they are read from the database
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEvents(EventFilter filter) {
+        ObjectWriter writer = objectMapper.writerFor(Event.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                eventService.streamEvents(filter, event -> {
+                    try {
+                        writer.writeValue(generator, event);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // Import events from a streamed CSV or NDJSON body in JDBC batches
+    @PostMapping(value = "/bulk", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public BulkImportResult importEvents(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        EventBulkService.Format format = contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? EventBulkService.Format.NDJSON
+                : EventBulkService.Format.CSV;
+        return eventBulkService.importEvents(body, format);
+    }
+
+    // Export all matching events as CSV while they are read from the database
+    @GetMapping(value = "/export", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEvents(EventFilter filter) {
+        StreamingResponseBody body = out -> eventBulkService.exportCsv(filter, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TEXT_CSV_VALUE))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"events.csv\"")
+                .body(body);
     }
 
-    // Update an event
+    // Update an event; If-Match with the event's ETag makes it fail with 412 if someone else changed it first
     @PutMapping("/edit/{id}")
-    public Event updateEvent(@PathVariable Long id, @RequestBody Event updatedEvent) {
-        return eventService.updateEvent(id, updatedEvent);
+    public ResponseEntity<Event> updateEvent(
+            @PathVariable Long id,
+            @RequestBody Event updatedEvent,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Event updated = eventService.updateEvent(id, updatedEvent, expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(Long.toString(updated.getVersion())).body(updated);
+    }
+
+    // Change only the fields present in the body, e.g. {"status": "Closed"}
+    @PatchMapping(value = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/merge-patch+json"})
+    public Event patchEvent(@PathVariable Long id, @RequestBody EventPatch patch) {
+        return eventService.patchEvent(id, patch);
+    }
+
+    // Register attendees for an event
+    @PostMapping("/{id}/register")
+    public Event registerAttendees(@PathVariable Long id, @RequestParam(defaultValue = "1") int seats) {
+        return eventService.registerAttendees(id, seats);
+    }
+
+    // Unregister attendees from an event
+    @PostMapping("/{id}/unregister")
+    public Event unregisterAttendees(@PathVariable Long id, @RequestParam(defaultValue = "1") int seats) {
+        return eventService.unregisterAttendees(id, seats);
     }
 
     // Delete an event
@@ -47,4 +215,62 @@ public class EventController {
     public void deleteEvent(@PathVariable Long id) {
         eventService.deleteEvent(id);
     }
+
+    // Events per category and status, sold-out ratio and capacity per venue
+    @GetMapping("/stats")
+    public EventStatistics getStatistics() {
+        return eventService.getStatistics();
+    }
+
+    // Event cache hit/miss/eviction counters
+    @GetMapping("/cache/stats")
+    public Map<String, EventCache.Stats> getCacheStats() {
+        return eventService.getCacheStats();
+    }
+
+    // Sets the list ETag and Last-Modified headers, or a 304 status when the client's copy is current.
+    // Every list shares one version that moves on any change, so this costs no query.
+    private boolean listNotModified(WebRequest request) {
+        EventCache.ListVersion version = eventService.getListVersion();
+        return request.checkNotModified(version.etag(), version.lastModified());
+    }
+
+    // The version named by an If-Match ETag; null for none or "*". If-Match compares strongly, so a weak
+    // tag never matches and the update fails with 412
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            throw new OptimisticLockingFailureException("If-Match needs a strong ETag, got " + ifMatch);
+        }
+        tag = tag.replace("\"", "");
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match must be a single event ETag, got " + ifMatch);
+        }
+    }
+
+    // Lost an update race: 412 when the client stated the version it expected, 409 otherwise
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleStaleVersion(OptimisticLockingFailureException e, WebRequest request) {
+        HttpStatus status = request.getHeader(HttpHeaders.IF_MATCH) != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(e.getMessage());
+    }
+
+    // Reject malformed cursors and other bad arguments with 400 instead of 500
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(IllegalArgumentException.class)
+    public String handleBadRequest(IllegalArgumentException e) {
+        return e.getMessage();
+    }
+
+    // Registration against a full or closed event
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(IllegalStateException.class)
+    public String handleConflict(IllegalStateException e) {
+        return e.getMessage();
+    }
 }
\ No newline at end of file
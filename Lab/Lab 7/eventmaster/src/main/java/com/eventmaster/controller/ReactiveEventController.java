@@ -0,0 +1,98 @@
+package com.eventmaster.controller;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventFilter;
+import com.eventmaster.model.EventPatch;
+import com.eventmaster.service.ReactiveEventService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// /events on the reactive deployment; the same paths as EventController for the operations it offers
+@RestController
+@RequestMapping("/events")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEventController {
+
+    @Autowired
+    private ReactiveEventService eventService;
+
+    // Create a new event
+    @PostMapping("/save")
+    public Mono<Event> createEvent(@RequestBody Event event) {
+        return eventService.createEvent(event);
+    }
+
+    // Retrieve event by ID; an unknown id is a 404, as on EventController
+    @GetMapping("/{id}")
+    public Mono<Event> getEventById(@PathVariable Long id) {
+        return eventService.getEventById(id)
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+
+    // Retrieve all matching events (a JSON array, or one object per line when NDJSON is accepted)
+    @GetMapping
+    public Flux<Event> getAllEvents(EventFilter filter) {
+        return eventService.getAllEvents(filter);
+    }
+
+    // Stream all matching events as newline-delimited JSON, with backpressure from the client
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Event> streamEvents(EventFilter filter) {
+        return eventService.getAllEvents(filter);
+    }
+
+    // Server-sent events for every status change (e.g. Available -> Sold Out) from now on
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Event>> statusChanges() {
+        return eventService.statusChanges()
+                .map(event -> ServerSentEvent.builder(event)
+                        .id(String.valueOf(event.getId()))
+                        .event("status")
+                        .build());
+    }
+
+    // Change only the fields present in the body
+    @PatchMapping(value = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/merge-patch+json"})
+    public Mono<Event> patchEvent(@PathVariable Long id, @RequestBody EventPatch patch) {
+        return eventService.patchEvent(id, patch);
+    }
+
+    // Register attendees for an event
+    @PostMapping("/{id}/register")
+    public Mono<Event> registerAttendees(@PathVariable Long id, @RequestParam(defaultValue = "1") int seats) {
+        return eventService.registerAttendees(id, seats);
+    }
+
+    // Unregister attendees from an event
+    @PostMapping("/{id}/unregister")
+    public Mono<Event> unregisterAttendees(@PathVariable Long id, @RequestParam(defaultValue = "1") int seats) {
+        return eventService.unregisterAttendees(id, seats);
+    }
+
+    // Delete an event
+    @DeleteMapping("/delete/{id}")
+    public Mono<Void> deleteEvent(@PathVariable Long id) {
+        return eventService.deleteEvent(id);
+    }
+
+    // Reject bad arguments with 400 instead of 500
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(IllegalArgumentException.class)
+    public String handleBadRequest(IllegalArgumentException e) {
+        return e.getMessage();
+    }
+
+    // Registration against a full or closed event
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(IllegalStateException.class)
+    public String handleConflict(IllegalStateException e) {
+        return e.getMessage();
+    }
+}
@@ -0,0 +1,155 @@
+package com.eventmaster.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalQuery;
+import java.util.List;
+import java.util.Locale;
+
+// Converts the free-form date/time strings of event into DATE/TIME columns with a (date, time) index.
+// Values that match none of the known formats become NULL and are logged.
+@Component
+public class V3__TypedEventSchedule extends BaseJavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(V3__TypedEventSchedule.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("dd-MM-yyyy"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+            DateTimeFormatter.ofPattern("yyyy/MM/dd"));
+
+    private static final List<DateTimeFormatter> TIME_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_TIME,
+            new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern("h:mm a").toFormatter(Locale.ENGLISH),
+            new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern("h:mma").toFormatter(Locale.ENGLISH));
+
+    private static final List<String> OLD_INDEXES = List.of(
+            "idx_event_category_date", "idx_event_status_date", "idx_event_venue_date", "idx_event_date");
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table event add column date_value date");
+            statement.execute("alter table event add column time_value time");
+        }
+
+        convertRows(connection);
+
+        try (Statement statement = connection.createStatement()) {
+            for (String index : OLD_INDEXES) {
+                if (indexExists(connection, index)) {
+                    statement.execute("drop index " + index + " on event");
+                }
+            }
+            statement.execute("alter table event drop column date");
+            statement.execute("alter table event drop column time");
+            statement.execute("alter table event rename column date_value to date");
+            statement.execute("alter table event rename column time_value to time");
+
+            statement.execute("create index idx_event_category_date on event (category, date)");
+            statement.execute("create index idx_event_status_date on event (status, date)");
+            statement.execute("create index idx_event_venue_date on event (venue, date)");
+            statement.execute("create index idx_event_date_time on event (date, time)");
+        }
+    }
+
+    private void convertRows(Connection connection) throws SQLException {
+        int unparsed = 0;
+        try (Statement select = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+             PreparedStatement update = connection.prepareStatement(
+                     "update event set date_value = ?, time_value = ? where id = ?")) {
+            select.setFetchSize(BATCH_SIZE);
+            int pending = 0;
+            try (ResultSet rows = select.executeQuery("select id, date, time from event")) {
+                while (rows.next()) {
+                    long id = rows.getLong(1);
+                    String rawDate = rows.getString(2);
+                    String rawTime = rows.getString(3);
+                    LocalDate date = parse(rawDate, DATE_FORMATS, LocalDate::from);
+                    LocalTime time = parse(rawTime, TIME_FORMATS, LocalTime::from);
+                    if ((rawDate != null && !rawDate.isBlank() && date == null)
+                            || (rawTime != null && !rawTime.isBlank() && time == null)) {
+                        unparsed++;
+                        log.warn("Event {}: could not parse date '{}' / time '{}', storing NULL", id, rawDate, rawTime);
+                    }
+                    if (date == null && time == null) {
+                        continue;
+                    }
+                    setNullable(update, 1, date == null ? null : Date.valueOf(date), Types.DATE);
+                    setNullable(update, 2, time == null ? null : Time.valueOf(time), Types.TIME);
+                    update.setLong(3, id);
+                    update.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        }
+        if (unparsed > 0) {
+            log.warn("{} event(s) had a date or time in an unknown format", unparsed);
+        }
+    }
+
+    private static <T> T parse(String value, List<DateTimeFormatter> formats,
+                               TemporalQuery<T> query) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        for (DateTimeFormatter format : formats) {
+            try {
+                return format.parse(value.trim(), query);
+            } catch (DateTimeParseException e) {
+                // try the next format
+            }
+        }
+        return null;
+    }
+
+    private static void setNullable(PreparedStatement statement, int index, Object value, int sqlType)
+            throws SQLException {
+        if (value == null) {
+            statement.setNull(index, sqlType);
+        } else {
+            statement.setObject(index, value, sqlType);
+        }
+    }
+
+    // Databases created by ddl-auto before the filter indexes existed were baselined without them
+    private static boolean indexExists(Connection connection, String index) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), null, "event", false, false)) {
+            while (indexes.next()) {
+                if (index.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
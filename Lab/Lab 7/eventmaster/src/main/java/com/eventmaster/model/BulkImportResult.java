@@ -0,0 +1,10 @@
+package com.eventmaster.model;
+
+import java.util.List;
+
+// Outcome of a bulk import; errors lists the first rejected rows by input line number
+public record BulkImportResult(long imported, long failed, List<RowError> errors) {
+
+    public record RowError(long line, String message) {
+    }
+}
@@ -1,22 +1,58 @@
 package com.eventmaster.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
 
 @Entity
+@Table(indexes = {
+        // Equality filters lead, date trails so combined filters and date ranges stay on one index
+        @Index(name = "idx_event_category_date", columnList = "category, date"),
+        @Index(name = "idx_event_status_date", columnList = "status, date"),
+        @Index(name = "idx_event_venue_date", columnList = "venue, date"),
+        @Index(name = "idx_event_date_time", columnList = "date, time")
+})
+@DynamicUpdate // UPDATE statements list only the columns that changed
 public class Event {
+    // Sequence ids are allocated in blocks of 50, which lets Hibernate batch inserts (IDENTITY cannot)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @org.springframework.data.annotation.Id // identifier for the R2DBC mapping of the reactive stack
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
+    @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = 50)
     private Long id;
 
     private String title;
-    private String category; // Entertainment, Educational, Social Cause
-    private String date;
-    private String time;
+    private EventCategory category;
+    private LocalDate date;
+    private LocalTime time;
     private String venue;
-    private String status; // Available, Upcoming, Sold Out, Closed
+    private EventStatus status;
     private int maxAttendees;
     private int currentAttendees;
 
+    // Incremented on every change, including the seat UPDATEs in the repositories and write-behind
+    @Version
+    private long version;
+
+    public Event() {
+    }
+
+    // Detached copy, used to remember an event's state before it is modified
+    public Event(Event other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.category = other.category;
+        this.date = other.date;
+        this.time = other.time;
+        this.venue = other.venue;
+        this.status = other.status;
+        this.maxAttendees = other.maxAttendees;
+        this.currentAttendees = other.currentAttendees;
+        this.version = other.version;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -34,27 +70,27 @@ public class Event {
         this.title = title;
     }
 
-    public String getCategory() {
+    public EventCategory getCategory() {
         return category;
     }
 
-    public void setCategory(String category) {
+    public void setCategory(EventCategory category) {
         this.category = category;
     }
 
-    public String getDate() {
+    public LocalDate getDate() {
         return date;
     }
 
-    public void setDate(String date) {
+    public void setDate(LocalDate date) {
         this.date = date;
     }
 
-    public String getTime() {
+    public LocalTime getTime() {
         return time;
     }
 
-    public void setTime(String time) {
+    public void setTime(LocalTime time) {
         this.time = time;
     }
 
@@ -66,11 +102,11 @@ public class Event {
         this.venue = venue;
     }
 
-    public String getStatus() {
+    public EventStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(EventStatus status) {
         this.status = status;
     }
 
@@ -89,4 +125,12 @@ public class Event {
     public void setCurrentAttendees(int currentAttendees) {
         this.currentAttendees = currentAttendees;
     }
-}
\ No newline at end of file
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,48 @@
+package com.eventmaster.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+// Stored as a one-byte code; the label is what clients send and receive
+public enum EventCategory {
+    ENTERTAINMENT(1, "Entertainment"),
+    EDUCATIONAL(2, "Educational"),
+    SOCIAL_CAUSE(3, "Social Cause");
+
+    private final byte code;
+    private final String label;
+
+    EventCategory(int code, String label) {
+        this.code = (byte) code;
+        this.label = label;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    public static EventCategory fromCode(byte code) {
+        for (EventCategory category : values()) {
+            if (category.code == code) {
+                return category;
+            }
+        }
+        throw new IllegalArgumentException("Unknown category code: " + code);
+    }
+
+    // Accepts the label ("Social Cause") or the constant name ("SOCIAL_CAUSE"), ignoring case
+    @JsonCreator
+    public static EventCategory fromLabel(String value) {
+        for (EventCategory category : values()) {
+            if (category.label.equalsIgnoreCase(value.trim()) || category.name().equalsIgnoreCase(value.trim())) {
+                return category;
+            }
+        }
+        throw new IllegalArgumentException("Unknown category: " + value);
+    }
+}
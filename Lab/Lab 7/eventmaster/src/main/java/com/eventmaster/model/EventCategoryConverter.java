@@ -0,0 +1,18 @@
+package com.eventmaster.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class EventCategoryConverter implements AttributeConverter<EventCategory, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(EventCategory category) {
+        return category == null ? null : category.getCode();
+    }
+
+    @Override
+    public EventCategory convertToEntityAttribute(Byte code) {
+        return code == null ? null : EventCategory.fromCode(code);
+    }
+}
@@ -0,0 +1,30 @@
+package com.eventmaster.model;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+// Optional search criteria for events; every non-null field must match (from/to are inclusive dates)
+public record EventFilter(EventCategory category, EventStatus status, String venue,
+                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+    public static final EventFilter NONE = new EventFilter(null, null, null, null, null);
+
+    public EventFilter {
+        venue = blankToNull(venue);
+    }
+
+    // Same criteria evaluated in memory, used to find cached results a changed event belongs to
+    public boolean matches(Event event) {
+        return (category == null || category == event.getCategory())
+                && (status == null || status == event.getStatus())
+                && (venue == null || venue.equals(event.getVenue()))
+                && (from == null || (event.getDate() != null && !event.getDate().isBefore(from)))
+                && (to == null || (event.getDate() != null && !event.getDate().isAfter(to)));
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,6 @@
+package com.eventmaster.model;
+
+// Event count, capacity and registrations of one (category, status, venue) group, from a GROUP BY
+public record EventGroupTotals(EventCategory category, EventStatus status, String venue,
+                               long events, long capacity, long attendees) {
+}
@@ -0,0 +1,7 @@
+package com.eventmaster.model;
+
+import java.util.List;
+
+// One keyset page of events; nextCursor is null on the last page
+public record EventPage(List<Event> events, String nextCursor) {
+}
@@ -0,0 +1,47 @@
+package com.eventmaster.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// Fields to change on an existing event; null means "leave as is"
+public record EventPatch(String title, EventCategory category, LocalDate date, LocalTime time, String venue,
+                         EventStatus status, Integer maxAttendees, Integer currentAttendees) {
+
+    // Copies the supplied fields onto the event and reports whether any value actually changed
+    public boolean applyTo(Event event) {
+        boolean changed = false;
+        if (title != null && !title.equals(event.getTitle())) {
+            event.setTitle(title);
+            changed = true;
+        }
+        if (category != null && category != event.getCategory()) {
+            event.setCategory(category);
+            changed = true;
+        }
+        if (date != null && !date.equals(event.getDate())) {
+            event.setDate(date);
+            changed = true;
+        }
+        if (time != null && !time.equals(event.getTime())) {
+            event.setTime(time);
+            changed = true;
+        }
+        if (venue != null && !venue.equals(event.getVenue())) {
+            event.setVenue(venue);
+            changed = true;
+        }
+        if (status != null && status != event.getStatus()) {
+            event.setStatus(status);
+            changed = true;
+        }
+        if (maxAttendees != null && maxAttendees != event.getMaxAttendees()) {
+            event.setMaxAttendees(maxAttendees);
+            changed = true;
+        }
+        if (currentAttendees != null && currentAttendees != event.getCurrentAttendees()) {
+            event.setCurrentAttendees(currentAttendees);
+            changed = true;
+        }
+        return changed;
+    }
+}
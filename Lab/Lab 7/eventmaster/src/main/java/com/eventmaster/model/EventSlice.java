@@ -0,0 +1,7 @@
+package com.eventmaster.model;
+
+import java.util.List;
+
+// One page of a date-ordered event listing; hasNext tells whether page + 1 has rows
+public record EventSlice(List<Event> events, int page, int size, boolean hasNext) {
+}
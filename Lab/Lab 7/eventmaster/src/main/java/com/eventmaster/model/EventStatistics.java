@@ -0,0 +1,20 @@
+package com.eventmaster.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Map;
+
+// Dashboard aggregates; maps are keyed by label, with events lacking a value under "Unspecified"
+public record EventStatistics(long events, Map<String, Long> byCategory, Map<String, Long> byStatus,
+                              double soldOutRatio, Map<String, VenueTotals> byVenue) {
+
+    public static final String UNSPECIFIED = "Unspecified";
+
+    public record VenueTotals(long events, long capacity, long attendees) {
+
+        @JsonProperty
+        public long remainingCapacity() {
+            return capacity - attendees;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.eventmaster.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+// Stored as a one-byte code; the label is what clients send and receive
+public enum EventStatus {
+    AVAILABLE(1, "Available"),
+    UPCOMING(2, "Upcoming"),
+    SOLD_OUT(3, "Sold Out"),
+    CLOSED(4, "Closed");
+
+    private final byte code;
+    private final String label;
+
+    EventStatus(int code, String label) {
+        this.code = (byte) code;
+        this.label = label;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    public static EventStatus fromCode(byte code) {
+        for (EventStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown status code: " + code);
+    }
+
+    // Accepts the label ("Sold Out") or the constant name ("SOLD_OUT"), ignoring case
+    @JsonCreator
+    public static EventStatus fromLabel(String value) {
+        for (EventStatus status : values()) {
+            if (status.label.equalsIgnoreCase(value.trim()) || status.name().equalsIgnoreCase(value.trim())) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown status: " + value);
+    }
+}
@@ -0,0 +1,18 @@
+package com.eventmaster.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class EventStatusConverter implements AttributeConverter<EventStatus, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(EventStatus status) {
+        return status == null ? null : status.getCode();
+    }
+
+    @Override
+    public EventStatus convertToEntityAttribute(Byte code) {
+        return code == null ? null : EventStatus.fromCode(code);
+    }
+}
@@ -0,0 +1,7 @@
+package com.eventmaster.model;
+
+import java.time.LocalDate;
+
+// The columns a listing shows, read straight into a record without loading or tracking the entity
+public record EventSummary(Long id, String title, LocalDate date, EventStatus status, int remainingSeats) {
+}
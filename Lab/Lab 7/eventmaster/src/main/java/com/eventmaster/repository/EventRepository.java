@@ -1,11 +1,60 @@
 package com.eventmaster.repository;
 
 import com.eventmaster.model.Event;
+import com.eventmaster.model.EventCategory;
+import com.eventmaster.model.EventGroupTotals;
+import com.eventmaster.model.EventStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
-public interface EventRepository extends JpaRepository<Event, Long> {
-    List<Event> findByCategory(String category); // Filter by category
-    List<Event> findByStatus(String status); // Filter by status
+public interface EventRepository extends JpaRepository<Event, Long>, EventRepositoryCustom {
+    List<Event> findByCategory(EventCategory category); // Filter by category
+    List<Event> findByStatus(EventStatus status); // Filter by status
     List<Event> findByVenue(String venue); // Filter by venue
-}
\ No newline at end of file
+
+    // Date-range listings in schedule order, served by a range scan on idx_event_date_time
+    Slice<Event> findByDateBetweenOrderByDateAscTimeAscIdAsc(LocalDate from, LocalDate to, Pageable pageable);
+    Slice<Event> findByDateGreaterThanEqualOrderByDateAscTimeAscIdAsc(LocalDate from, Pageable pageable);
+
+    // Totals per (category, status, venue), the cold start of the dashboard aggregates
+    @Query("select new com.eventmaster.model.EventGroupTotals(e.category, e.status, e.venue, "
+            + "count(e), coalesce(sum(e.maxAttendees), 0), coalesce(sum(e.currentAttendees), 0)) "
+            + "from Event e group by e.category, e.status, e.venue")
+    List<EventGroupTotals> totalsByCategoryStatusAndVenue();
+
+    // The event with its row locked until the transaction ends, so that what is read is exactly what the
+    // seat UPDATE after it changes; concurrent registrations for the event queue here instead
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Event e where e.id = :id")
+    Optional<Event> findByIdForUpdate(@Param("id") Long id);
+
+    // Take seats in one conditional UPDATE so concurrent registrations can never oversell.
+    // Status is assigned first because MySQL evaluates SET clauses left to right. Bulk updates
+    // bypass @Version, so both seat queries bump it themselves.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Event e set "
+            + "e.status = case when e.currentAttendees + :seats >= e.maxAttendees then com.eventmaster.model.EventStatus.SOLD_OUT else e.status end, "
+            + "e.currentAttendees = e.currentAttendees + :seats, "
+            + "e.version = e.version + 1 "
+            + "where e.id = :id and e.currentAttendees + :seats <= e.maxAttendees "
+            + "and (e.status is null or e.status <> com.eventmaster.model.EventStatus.CLOSED)")
+    int reserveSeats(@Param("id") Long id, @Param("seats") int seats);
+
+    // Give seats back, reopening a sold-out event once capacity is free again
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Event e set "
+            + "e.status = case when e.status = com.eventmaster.model.EventStatus.SOLD_OUT and e.currentAttendees - :seats < e.maxAttendees then com.eventmaster.model.EventStatus.AVAILABLE else e.status end, "
+            + "e.currentAttendees = e.currentAttendees - :seats, "
+            + "e.version = e.version + 1 "
+            + "where e.id = :id and e.currentAttendees >= :seats")
+    int releaseSeats(@Param("id") Long id, @Param("seats") int seats);
+}
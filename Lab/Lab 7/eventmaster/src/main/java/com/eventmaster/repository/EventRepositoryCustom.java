@@ -0,0 +1,17 @@
+package com.eventmaster.repository;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventFilter;
+import com.eventmaster.model.EventSummary;
+import jakarta.persistence.Tuple;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Filtered queries that apply all criteria of an EventFilter together in the database
+public interface EventRepositoryCustom {
+    List<Event> findMatching(EventFilter filter); // All matching events in id order
+    List<Event> findMatchingAfter(EventFilter filter, long afterId, int limit); // Keyset page after the given id
+    Stream<Event> streamMatching(EventFilter filter); // Matching events read through a JDBC cursor
+    List<EventSummary> findSummaries(EventFilter filter); // List-view columns only, in id order
+    List<Tuple> findFields(EventFilter filter, List<String> fields); // Only the named fields, aliased by name, in id order
+}
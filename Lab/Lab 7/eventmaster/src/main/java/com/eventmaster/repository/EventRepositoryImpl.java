@@ -0,0 +1,126 @@
+package com.eventmaster.repository;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventFilter;
+import com.eventmaster.model.EventSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class EventRepositoryImpl implements EventRepositoryCustom {
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    // Selectable through findFields: the persistent attributes plus the derived remainingSeats
+    private static final Set<String> FIELDS = Set.of("id", "title", "category", "date", "time", "venue", "status",
+            "maxAttendees", "currentAttendees", "remainingSeats");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Read-only transactions let Hibernate skip the dirty-checking snapshot of every loaded entity
+    @Override
+    @Transactional(readOnly = true)
+    public List<Event> findMatching(EventFilter filter) {
+        return query(filter, 0L).getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Event> findMatchingAfter(EventFilter filter, long afterId, int limit) {
+        return query(filter, afterId).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<Event> streamMatching(EventFilter filter) {
+        return query(filter, 0L)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventSummary> findSummaries(EventFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventSummary> query = cb.createQuery(EventSummary.class);
+        Root<Event> event = query.from(Event.class);
+        query.select(cb.construct(EventSummary.class,
+                        event.get("id"), event.get("title"), event.get("date"), event.get("status"), remainingSeats(cb, event)))
+                .where(predicates(cb, event, filter, 0L))
+                .orderBy(cb.asc(event.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Tuple> findFields(EventFilter filter, List<String> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Event> event = query.from(Event.class);
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            if (!FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field + " (expected any of " + FIELDS + ")");
+            }
+            Expression<?> column = field.equals("remainingSeats") ? remainingSeats(cb, event) : event.get(field);
+            selections.add(column.alias(field));
+        }
+        query.multiselect(selections)
+                .where(predicates(cb, event, filter, 0L))
+                .orderBy(cb.asc(event.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    // Build one WHERE clause from every criterion present, ordered by id for stable keyset paging
+    private TypedQuery<Event> query(EventFilter filter, long afterId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> event = query.from(Event.class);
+        query.select(event)
+                .where(predicates(cb, event, filter, afterId))
+                .orderBy(cb.asc(event.get("id")));
+        return entityManager.createQuery(query);
+    }
+
+    private static Predicate[] predicates(CriteriaBuilder cb, Root<Event> event, EventFilter filter, long afterId) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (afterId > 0) {
+            predicates.add(cb.greaterThan(event.get("id"), afterId));
+        }
+        if (filter.category() != null) {
+            predicates.add(cb.equal(event.get("category"), filter.category()));
+        }
+        if (filter.status() != null) {
+            predicates.add(cb.equal(event.get("status"), filter.status()));
+        }
+        if (filter.venue() != null) {
+            predicates.add(cb.equal(event.get("venue"), filter.venue()));
+        }
+        if (filter.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(event.<LocalDate>get("date"), filter.from()));
+        }
+        if (filter.to() != null) {
+            predicates.add(cb.lessThanOrEqualTo(event.<LocalDate>get("date"), filter.to()));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    private static Expression<Integer> remainingSeats(CriteriaBuilder cb, Root<Event> event) {
+        return cb.diff(event.<Integer>get("maxAttendees"), event.<Integer>get("currentAttendees"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.eventmaster.repository;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventCategory;
+import com.eventmaster.model.EventStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDate;
+
+// Non-blocking counterpart of EventRepository, used by the reactive deployment only
+public interface ReactiveEventRepository extends R2dbcRepository<Event, Long>, ReactiveEventRepositoryCustom {
+    Flux<Event> findByCategory(EventCategory category); // Filter by category
+    Flux<Event> findByStatus(EventStatus status); // Filter by status
+    Flux<Event> findByVenue(String venue); // Filter by venue
+
+    // Date-range listings in schedule order, served by a range scan on idx_event_date_time
+    Flux<Event> findByDateBetweenOrderByDateAscTimeAscIdAsc(LocalDate from, LocalDate to, Pageable pageable);
+    Flux<Event> findByDateGreaterThanEqualOrderByDateAscTimeAscIdAsc(LocalDate from, Pageable pageable);
+
+    // Same locking read as EventRepository.findByIdForUpdate, within a reactive transaction
+    @Query("select * from event where id = :id for update")
+    Mono<Event> findByIdForUpdate(@Param("id") Long id);
+
+    // Same conditional UPDATEs as EventRepository, in SQL with the stored status codes
+    // (3 = Sold Out, 4 = Closed, 1 = Available); status is assigned first for MySQL
+    @Modifying
+    @Query("update event set "
+            + "status = case when current_attendees + :seats >= max_attendees then 3 else status end, "
+            + "current_attendees = current_attendees + :seats, version = version + 1 "
+            + "where id = :id and current_attendees + :seats <= max_attendees "
+            + "and (status is null or status <> 4)")
+    Mono<Integer> reserveSeats(@Param("id") Long id, @Param("seats") int seats);
+
+    @Modifying
+    @Query("update event set "
+            + "status = case when status = 3 and current_attendees - :seats < max_attendees then 1 else status end, "
+            + "current_attendees = current_attendees - :seats, version = version + 1 "
+            + "where id = :id and current_attendees >= :seats")
+    Mono<Integer> releaseSeats(@Param("id") Long id, @Param("seats") int seats);
+}
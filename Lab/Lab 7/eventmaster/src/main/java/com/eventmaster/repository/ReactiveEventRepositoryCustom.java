@@ -0,0 +1,10 @@
+package com.eventmaster.repository;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventFilter;
+import reactor.core.publisher.Flux;
+
+// Filtered query that applies all criteria of an EventFilter together in the database
+public interface ReactiveEventRepositoryCustom {
+    Flux<Event> findMatching(EventFilter filter); // Matching events in id order, emitted as rows arrive
+}
@@ -0,0 +1,40 @@
+package com.eventmaster.repository;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+
+public class ReactiveEventRepositoryImpl implements ReactiveEventRepositoryCustom {
+
+    @Autowired
+    private R2dbcEntityTemplate template;
+
+    // Build one WHERE clause from every criterion present, ordered by id like EventRepositoryImpl
+    @Override
+    public Flux<Event> findMatching(EventFilter filter) {
+        Criteria criteria = Criteria.empty();
+        if (filter.category() != null) {
+            criteria = criteria.and("category").is(filter.category());
+        }
+        if (filter.status() != null) {
+            criteria = criteria.and("status").is(filter.status());
+        }
+        if (filter.venue() != null) {
+            criteria = criteria.and("venue").is(filter.venue());
+        }
+        if (filter.from() != null) {
+            criteria = criteria.and("date").greaterThanOrEquals(filter.from());
+        }
+        if (filter.to() != null) {
+            criteria = criteria.and("date").lessThanOrEquals(filter.to());
+        }
+        return template.select(Event.class)
+                .matching(Query.query(criteria).sort(Sort.by("id")))
+                .all();
+    }
+}
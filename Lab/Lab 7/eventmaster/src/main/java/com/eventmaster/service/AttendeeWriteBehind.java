@@ -0,0 +1,377 @@
+package com.eventmaster.service;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventStatus;
+import com.eventmaster.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Write-behind mode for registrations. Each event's seat count lives in memory, guarded by its own lock,
+// so capacity checks stay exact without a database round trip; the seats taken or released since the
+// last flush are written as relative UPDATEs in one JDBC batch every flush interval, and once more after
+// the web server has stopped on shutdown. EventService.getEventById answers from the ledger while an
+// event has seats in it; lists and other queries read the database, which lags by at most one interval.
+@Component
+@ConditionalOnProperty(name = "eventmaster.registration.write-behind.enabled", havingValue = "true")
+public class AttendeeWriteBehind implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AttendeeWriteBehind.class);
+
+    // Same transitions as EventRepository.reserveSeats/releaseSeats for a net change in either direction,
+    // with the status codes bound from EventStatus; status is assigned first because MySQL evaluates SET
+    // clauses left to right. The version advances once per buffered registration, as it did in memory.
+    private static final String APPLY_DELTA = "update event set "
+            + "status = case when status = ? then status "
+            + "when current_attendees + ? >= max_attendees then ? "
+            + "when status = ? then ? else status end, "
+            + "current_attendees = current_attendees + ?, "
+            + "version = version + ? "
+            + "where id = ?";
+
+    private final Map<Long, Seats> ledger = new ConcurrentHashMap<>();
+    // Advanced once an edit has committed; an event loaded from the database while it moved may predate
+    // the edit and is loaded again
+    private final AtomicLong edits = new AtomicLong();
+    private volatile boolean running;
+    private ScheduledExecutorService flusher;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventChangePublisher changePublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${eventmaster.registration.write-behind.flush-interval:100ms}")
+    private Duration flushInterval;
+
+    // Take seats in memory; null once shut down, in which case the caller writes directly
+    public Event reserve(Long id, int seats) {
+        while (true) {
+            Seats entry = entry(id);
+            Event before;
+            Event after;
+            synchronized (entry) {
+                if (!running) {
+                    return null;
+                }
+                if (entry.retired) {
+                    continue; // settled concurrently, reload
+                }
+                Event event = entry.event;
+                if (event.getStatus() == EventStatus.CLOSED || event.getCurrentAttendees() + seats > event.getMaxAttendees()) {
+                    throw new IllegalStateException("Cannot register " + seats + " attendee(s) for event " + id
+                            + " (" + event.getCurrentAttendees() + "/" + event.getMaxAttendees() + ", " + label(event) + ")");
+                }
+                before = new Event(event);
+                event.setCurrentAttendees(event.getCurrentAttendees() + seats);
+                if (event.getCurrentAttendees() >= event.getMaxAttendees()) {
+                    event.setStatus(EventStatus.SOLD_OUT);
+                }
+                event.setVersion(event.getVersion() + 1);
+                entry.pending += seats;
+                entry.versions++;
+                entry.touched = true;
+                after = new Event(event);
+                entry.view = after;
+            }
+            changePublisher.publish(before, after);
+            return after;
+        }
+    }
+
+    // Give seats back in memory; null once shut down, in which case the caller writes directly
+    public Event release(Long id, int seats) {
+        while (true) {
+            Seats entry = entry(id);
+            Event before;
+            Event after;
+            synchronized (entry) {
+                if (!running) {
+                    return null;
+                }
+                if (entry.retired) {
+                    continue;
+                }
+                Event event = entry.event;
+                if (event.getCurrentAttendees() < seats) {
+                    throw new IllegalStateException("Cannot unregister " + seats + " attendee(s) from event " + id
+                            + " (" + event.getCurrentAttendees() + " registered)");
+                }
+                before = new Event(event);
+                event.setCurrentAttendees(event.getCurrentAttendees() - seats);
+                if (event.getStatus() == EventStatus.SOLD_OUT && event.getCurrentAttendees() < event.getMaxAttendees()) {
+                    event.setStatus(EventStatus.AVAILABLE);
+                }
+                event.setVersion(event.getVersion() + 1);
+                entry.pending -= seats;
+                entry.versions++;
+                entry.touched = true;
+                after = new Event(event);
+                entry.view = after;
+            }
+            changePublisher.publish(before, after);
+            return after;
+        }
+    }
+
+    // The event as registrations see it, with the seats not written yet; null when it has no entry, in
+    // which case the database is current. Never waits for the entry's lock.
+    public Event buffered(Long id) {
+        Seats entry = ledger.get(id);
+        Event view = entry == null ? null : entry.view;
+        return view == null ? null : new Event(view);
+    }
+
+    // Run an edit or delete of the event with its pending seats written out first. The entry stays locked
+    // until the edit has committed and is retired then, so registrations waiting on it reload the event as
+    // edited (a lowered capacity included) and never check seats against the count from before; an entry
+    // is put in place for the edit if the event has none, to hold off registrations that would load it
+    // meanwhile. Waits for a flush still writing seats of this event; if the seats cannot be written the
+    // entry stays as it was and the edit does not run.
+    public <T> T settle(Long id, Supplier<T> change) {
+        while (true) {
+            Seats entry = ledger.computeIfAbsent(id, key -> new Seats(null));
+            synchronized (entry) {
+                awaitWrites(entry);
+                if (entry.retired) {
+                    continue;
+                }
+                if (entry.versions != 0) {
+                    write(List.of(new long[] {id, entry.pending, entry.versions}));
+                    entry.pending = 0;
+                    entry.versions = 0;
+                }
+                try {
+                    return change.get();
+                } finally {
+                    edits.incrementAndGet();
+                    entry.retire();
+                    ledger.remove(id, entry);
+                }
+            }
+        }
+    }
+
+    // Write out one event's pending seats and drop its entry, e.g. before a recount
+    public void settle(Long id) {
+        if (ledger.containsKey(id)) {
+            settle(id, () -> null);
+        }
+    }
+
+    // Settle every event, e.g. before totals are recounted from the database (which then has every seat)
+    public void settleAll() {
+        for (Long id : ledger.keySet()) {
+            settle(id);
+        }
+    }
+
+    // Write out every pending change in one batch; entries idle since the previous flush are dropped.
+    // Until the batch has committed its entries count it as in flight and cannot be retired, since an
+    // event reloaded from the database in the meantime would miss those seats.
+    public void flush() {
+        List<long[]> deltas = new ArrayList<>();
+        List<Seats> written = new ArrayList<>();
+        for (Map.Entry<Long, Seats> item : ledger.entrySet()) {
+            Seats entry = item.getValue();
+            synchronized (entry) {
+                if (entry.versions != 0) {
+                    deltas.add(new long[] {item.getKey(), entry.pending, entry.versions});
+                    written.add(entry);
+                    entry.pending = 0;
+                    entry.versions = 0;
+                    entry.writes++;
+                } else if (!entry.touched && entry.writes == 0) {
+                    entry.retire();
+                    ledger.remove(item.getKey(), entry);
+                }
+                entry.touched = false;
+            }
+        }
+        boolean committed = false;
+        try {
+            write(deltas);
+            committed = true;
+        } finally {
+            for (int i = 0; i < written.size(); i++) {
+                Seats entry = written.get(i);
+                synchronized (entry) {
+                    if (!committed) {
+                        // Keep the seats for the next flush; they are already promised to attendees
+                        entry.pending += (int) deltas.get(i)[1];
+                        entry.versions += (int) deltas.get(i)[2];
+                    }
+                    entry.writes--;
+                    entry.notifyAll();
+                }
+            }
+        }
+    }
+
+    // Relative UPDATEs in their own transaction, so a caller's rollback cannot undo accepted registrations.
+    // Listeners have seen every registration already; once committed they only drop copies of the rows
+    // read from the database before (a list loaded meanwhile, say).
+    private void write(List<long[]> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Collection<Long> ids = deltas.stream().map(delta -> delta[0]).toList();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.executeWithoutResult(status -> {
+            changePublisher.publishWritten(ids);
+            jdbcTemplate.batchUpdate(APPLY_DELTA, deltas, deltas.size(), (statement, delta) -> {
+                statement.setByte(1, EventStatus.CLOSED.getCode());
+                statement.setLong(2, delta[1]);
+                statement.setByte(3, EventStatus.SOLD_OUT.getCode());
+                statement.setByte(4, EventStatus.SOLD_OUT.getCode());
+                statement.setByte(5, EventStatus.AVAILABLE.getCode());
+                statement.setLong(6, delta[1]);
+                statement.setLong(7, delta[2]);
+                statement.setLong(8, delta[0]);
+            });
+        });
+    }
+
+    // Called holding the entry's lock, which wait releases so registrations can go on meanwhile
+    private static void awaitWrites(Seats entry) {
+        boolean interrupted = false;
+        while (entry.writes != 0) {
+            try {
+                entry.wait();
+            } catch (InterruptedException e) {
+                interrupted = true; // the seats must be written before the event changes
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Seats entry(Long id) {
+        while (true) {
+            Seats entry = ledger.get(id);
+            if (entry != null) {
+                return entry;
+            }
+            // From the primary: seats are checked against this count, so it must not lag behind the last flush
+            long seen = edits.get();
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            Event event = transaction.execute(status -> eventRepository.findById(id))
+                    .orElseThrow(() -> new RuntimeException("Event not found with id: " + id));
+            Seats loaded = new Seats(event);
+            entry = ledger.compute(id, (key, raced) -> raced != null ? raced : edits.get() == seen ? loaded : null);
+            if (entry != null) {
+                return entry;
+            }
+        }
+    }
+
+    private static String label(Event event) {
+        return event.getStatus() == null ? null : event.getStatus().getLabel();
+    }
+
+    @Override
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "attendee-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = Math.max(1, flushInterval.toMillis());
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.warn("Attendee flush failed, retrying in {} ms", millis, e);
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    // Stop accepting in memory, then write out everything that is left. Runs after the web server has
+    // stopped (lower phase), so no request can add seats once the last flush has read them.
+    @Override
+    public void stop() {
+        running = false;
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            ledger.forEach((id, entry) -> {
+                if (entry.versions != 0) {
+                    log.error("Could not write {} attendee(s) for event {}; apply it to current_attendees by hand", entry.pending, id);
+                }
+            });
+            throw e;
+        } finally {
+            ledger.clear();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    // In-memory state of one event; pending is the net seat change not yet written and versions the
+    // number of registrations behind it (non-zero even when they cancel out, since each was a change);
+    // writes counts flushes with seats of this event that have not committed yet; view is the latest
+    // state for readers that do not take the lock. An entry put in place by settle has no event.
+    private static final class Seats {
+        private final Event event;
+        private int pending;
+        private int versions;
+        private int writes;
+        private boolean touched = true;
+        private boolean retired;
+        private volatile Event view;
+
+        Seats(Event event) {
+            this.event = event == null ? null : new Event(event);
+            this.view = event == null ? null : new Event(event);
+        }
+
+        void retire() {
+            retired = true;
+            view = null;
+        }
+    }
+}
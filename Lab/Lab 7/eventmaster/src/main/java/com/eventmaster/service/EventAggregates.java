@@ -0,0 +1,164 @@
+package com.eventmaster.service;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventCategory;
+import com.eventmaster.model.EventGroupTotals;
+import com.eventmaster.model.EventStatistics;
+import com.eventmaster.model.EventStatistics.VenueTotals;
+import com.eventmaster.model.EventStatus;
+import com.eventmaster.repository.EventRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Running dashboard totals (events per category and status, capacity per venue). Seeded from one
+// GROUP BY query and then adjusted by every change, so reading them never touches the table.
+@Component
+public class EventAggregates implements EventChangeListener, SmartLifecycle {
+
+    // Changes adjust the counters concurrently (shared lock); a rebuild swaps them out exclusively
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Totals totals = new Totals();
+    private volatile boolean running;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Looked up when rebuilding, since the write-behind publishes to this listener
+    @Autowired
+    private ObjectProvider<AttendeeWriteBehind> writeBehind;
+
+    // Seeded when the context starts, like the search index, so that refreshing it needs no database. The
+    // phase puts this before the write-behind and the web server, so no change can be under way while the
+    // seed is counted and every later one reaches this listener after it.
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 8192;
+    }
+
+    // Recount from the database, e.g. after rows were changed outside EventService. Counted on the primary
+    // (read-write transaction), since a lagging replica would be off by changes that were already applied;
+    // buffered seats are written out first. Exact only while no change is in flight: one committed but not
+    // delivered here yet would be in the recount and then applied to it again.
+    public void rebuild() {
+        writeBehind.ifAvailable(AttendeeWriteBehind::settleAll);
+        lock.writeLock().lock();
+        try {
+            Totals fresh = new Totals();
+            for (EventGroupTotals group : transactionTemplate.execute(status -> eventRepository.totalsByCategoryStatusAndVenue())) {
+                fresh.add(group.category(), group.status(), group.venue(), group.events(), group.capacity(), group.attendees());
+            }
+            totals = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public EventStatistics statistics() {
+        Totals current = totals;
+        long events = current.events.get();
+
+        Map<String, Long> byCategory = new LinkedHashMap<>();
+        for (EventCategory category : EventCategory.values()) {
+            byCategory.put(category.getLabel(), current.byCategory.get(category.ordinal()));
+        }
+        addUnspecified(byCategory, current.byCategory.get(EventCategory.values().length));
+
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (EventStatus status : EventStatus.values()) {
+            byStatus.put(status.getLabel(), current.byStatus.get(status.ordinal()));
+        }
+        addUnspecified(byStatus, current.byStatus.get(EventStatus.values().length));
+
+        double soldOutRatio = events == 0 ? 0 : (double) current.byStatus.get(EventStatus.SOLD_OUT.ordinal()) / events;
+        return new EventStatistics(events, byCategory, byStatus, soldOutRatio, new TreeMap<>(current.byVenue));
+    }
+
+    @Override
+    public void eventChanged(Event before, Event after) {
+        if (before != null && after != null && sameTotals(before, after)) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            Totals current = totals;
+            if (before != null) {
+                current.add(before.getCategory(), before.getStatus(), before.getVenue(),
+                        -1, -before.getMaxAttendees(), -before.getCurrentAttendees());
+            }
+            if (after != null) {
+                current.add(after.getCategory(), after.getStatus(), after.getVenue(),
+                        1, after.getMaxAttendees(), after.getCurrentAttendees());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean sameTotals(Event before, Event after) {
+        return before.getCategory() == after.getCategory()
+                && before.getStatus() == after.getStatus()
+                && Objects.equals(before.getVenue(), after.getVenue())
+                && before.getMaxAttendees() == after.getMaxAttendees()
+                && before.getCurrentAttendees() == after.getCurrentAttendees();
+    }
+
+    private static void addUnspecified(Map<String, Long> counts, long unspecified) {
+        if (unspecified != 0) {
+            counts.put(EventStatistics.UNSPECIFIED, unspecified);
+        }
+    }
+
+    // Counters indexed by enum ordinal; the extra last slot counts events without a value
+    private static final class Totals {
+        private final AtomicLong events = new AtomicLong();
+        private final AtomicLongArray byCategory = new AtomicLongArray(EventCategory.values().length + 1);
+        private final AtomicLongArray byStatus = new AtomicLongArray(EventStatus.values().length + 1);
+        private final Map<String, VenueTotals> byVenue = new ConcurrentHashMap<>();
+
+        void add(EventCategory category, EventStatus status, String venue, long events, long capacity, long attendees) {
+            this.events.addAndGet(events);
+            byCategory.addAndGet(category == null ? EventCategory.values().length : category.ordinal(), events);
+            byStatus.addAndGet(status == null ? EventStatus.values().length : status.ordinal(), events);
+            byVenue.compute(venue == null ? EventStatistics.UNSPECIFIED : venue, (key, totals) -> {
+                VenueTotals updated = totals == null
+                        ? new VenueTotals(events, capacity, attendees)
+                        : new VenueTotals(totals.events() + events, totals.capacity() + capacity, totals.attendees() + attendees);
+                // Concurrent changes each take their event out before putting it back, so the count can
+                // reach zero while the sums still hold the other events' seats
+                return updated.equals(new VenueTotals(0, 0, 0)) ? null : updated;
+            });
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.eventmaster.service;
+
+import com.eventmaster.model.BulkImportResult;
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streaming CSV/NDJSON import in JDBC batches, and the matching CSV export
+@Service
+public class EventBulkService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventChangePublisher changePublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${eventmaster.bulk.batch-size:500}")
+    private int batchSize;
+
+    // Read the body record by record, inserting one batch per transaction; bad rows are reported, not fatal
+    public BulkImportResult importEvents(InputStream in, Format format) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        ImportRun run = new ImportRun();
+        long lineNumber = 0;
+
+        EventCsv csv = null;
+        if (format == Format.CSV) {
+            String header = reader.readLine();
+            lineNumber++;
+            if (header == null) {
+                return run.result();
+            }
+            csv = new EventCsv(header);
+        }
+
+        List<Event> batch = new ArrayList<>(batchSize);
+        List<Long> batchLines = new ArrayList<>(batchSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            long recordLine = lineNumber; // errors point at the line a record starts on
+            if (line.isBlank()) {
+                continue;
+            }
+            int quotes = format == Format.CSV ? EventCsv.quotes(line) : 0;
+            if (quotes % 2 != 0) {
+                // A quoted field spans lines; an unterminated one at the end is rejected by the parser
+                StringBuilder record = new StringBuilder(line);
+                String next;
+                while (quotes % 2 != 0 && (next = reader.readLine()) != null) {
+                    lineNumber++;
+                    record.append('\n').append(next);
+                    quotes += EventCsv.quotes(next);
+                }
+                line = record.toString();
+            }
+            try {
+                Event event = format == Format.CSV ? csv.parse(line) : parseJson(line);
+                validate(event);
+                batch.add(event);
+                batchLines.add(recordLine);
+            } catch (IllegalArgumentException e) {
+                run.reject(recordLine, e.getMessage());
+            }
+            if (batch.size() == batchSize) {
+                persist(batch, batchLines, run);
+                batch = new ArrayList<>(batchSize);
+                batchLines = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            persist(batch, batchLines, run);
+        }
+        return run.result();
+    }
+
+    // Write matching events as CSV while they are read from the database
+    public void exportCsv(EventFilter filter, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        EventCsv.writeHeader(writer);
+        try {
+            eventService.streamEvents(filter, event -> {
+                try {
+                    EventCsv.write(writer, event);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private Event parseJson(String line) {
+        try {
+            Event event = objectMapper.readValue(line, Event.class);
+            event.setId(null); // imported events always get new ids, and start at version 0
+            event.setVersion(0);
+            return event;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private void validate(Event event) {
+        if (event.getTitle() == null || event.getTitle().isBlank()) {
+            throw new IllegalArgumentException("title is required");
+        }
+        if (event.getMaxAttendees() < 0) {
+            throw new IllegalArgumentException("maxAttendees must not be negative");
+        }
+        if (event.getCurrentAttendees() < 0 || event.getCurrentAttendees() > event.getMaxAttendees()) {
+            throw new IllegalArgumentException("currentAttendees must be between 0 and maxAttendees");
+        }
+    }
+
+    private void persist(List<Event> batch, List<Long> lines, ImportRun run) {
+        try {
+            transactionTemplate.execute(status -> {
+                for (Event event : batch) {
+                    entityManager.persist(event);
+                }
+                entityManager.flush();
+                entityManager.clear();
+                changePublisher.publishCreated(batch);
+                return null;
+            });
+            run.imported += batch.size();
+        } catch (RuntimeException batchFailure) {
+            // The database rejected something in the batch; retry row by row to find out which
+            for (int i = 0; i < batch.size(); i++) {
+                Event event = batch.get(i);
+                event.setId(null);
+                try {
+                    transactionTemplate.execute(status -> {
+                        entityManager.persist(event);
+                        changePublisher.publish(null, event);
+                        return null;
+                    });
+                    run.imported++;
+                } catch (RuntimeException e) {
+                    run.reject(lines.get(i), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                }
+            }
+        }
+    }
+
+    private static final class ImportRun {
+        private long imported;
+        private long failed;
+        private final List<BulkImportResult.RowError> errors = new ArrayList<>();
+
+        void reject(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BulkImportResult.RowError(line, message));
+            }
+        }
+
+        BulkImportResult result() {
+            return new BulkImportResult(imported, failed, errors);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.eventmaster.service;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Bounded read-through cache for event lookups and filtered event lists
+@Component
+public class EventCache implements EventChangeListener, MeterBinder {
+
+    private final Cache<Long, Event> events;
+    private final Cache<EventFilter, List<Event>> lists;
+
+    // Advanced after each change has been applied to the caches, so a list read under a version never
+    // predates it; list ETags are derived from it and can be checked without a query
+    private final AtomicReference<ListVersion> listVersion = new AtomicReference<>(ListVersion.initial());
+
+    // Advanced before a change touches the lists; a list loaded while it moved may have been read before
+    // the change and missed by its invalidation, which only sees lists already in the cache
+    private final AtomicLong listChanges = new AtomicLong();
+
+    public EventCache(@Value("${eventmaster.cache.max-events:10000}") long maxEvents,
+                      @Value("${eventmaster.cache.max-list-rows:50000}") long maxListRows,
+                      @Value("${eventmaster.cache.ttl:5m}") Duration ttl) {
+        this.events = Caffeine.newBuilder()
+                .maximumSize(maxEvents)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // Lists are weighed by row count so a few huge results cannot crowd out the heap
+        this.lists = Caffeine.newBuilder()
+                .maximumWeight(maxListRows)
+                .<EventFilter, List<Event>>weigher((filter, list) -> Math.max(1, list.size()))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    // Loaded atomically: invalidating an id waits for a load in progress and then drops what it read, so a
+    // row read before a change cannot be put back afterwards. Misses are not cached, so an id created later
+    // is visible immediately.
+    public Optional<Event> getEvent(Long id, Function<Long, Optional<Event>> loader) {
+        return Optional.ofNullable(events.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    public List<Event> getEvents(EventFilter filter, Supplier<List<Event>> loader) {
+        long changes = listChanges.get();
+        AtomicReference<List<Event>> loaded = new AtomicReference<>();
+        List<Event> list = lists.get(filter, key -> {
+            loaded.set(List.copyOf(loader.get()));
+            return loaded.get();
+        });
+        // Still a valid answer for a version taken before the call, but not one to keep
+        if (loaded.get() != null && listChanges.get() != changes) {
+            lists.asMap().remove(filter, loaded.get());
+        }
+        return list;
+    }
+
+    // Drop the event itself and every cached list it belonged to before or belongs to after the change
+    @Override
+    public void eventChanged(Event before, Event after) {
+        Event changed = after != null ? after : before;
+        events.invalidate(changed.getId());
+        listChanges.incrementAndGet();
+        lists.asMap().keySet().removeIf(filter ->
+                (before != null && filter.matches(before)) || (after != null && filter.matches(after)));
+        listVersion.updateAndGet(ListVersion::next);
+    }
+
+    // One pass over the cached lists for a whole imported batch
+    @Override
+    public void eventsCreated(List<Event> created) {
+        listChanges.incrementAndGet();
+        lists.asMap().keySet().removeIf(filter -> created.stream().anyMatch(filter::matches));
+        listVersion.updateAndGet(ListVersion::next);
+    }
+
+    // Drop copies read from the database while the rows were behind, and the lists holding any of them
+    @Override
+    public void eventsWritten(Collection<Long> ids) {
+        events.invalidateAll(ids);
+        listChanges.incrementAndGet();
+        lists.asMap().values().removeIf(list -> list.stream().anyMatch(event -> ids.contains(event.getId())));
+        listVersion.updateAndGet(ListVersion::next);
+    }
+
+    // Changes to any event since startup; take it before reading a list, never after
+    public ListVersion listVersion() {
+        return listVersion.get();
+    }
+
+    // Publishes the same counters as cache_gets/cache_evictions/cache_size metrics
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, events, "events");
+        CaffeineCacheMetrics.monitor(registry, lists, "event-lists");
+    }
+
+    public Map<String, Stats> stats() {
+        return Map.of(
+                "events", Stats.of(events.stats(), events.estimatedSize()),
+                "lists", Stats.of(lists.stats(), lists.estimatedSize()));
+    }
+
+    // epoch tells restarts apart, since the generation starts over at zero
+    public record ListVersion(String epoch, long generation, long lastModified) {
+
+        static ListVersion initial() {
+            long now = System.currentTimeMillis();
+            return new ListVersion(Long.toString(now, 36), 0, now);
+        }
+
+        ListVersion next() {
+            return new ListVersion(epoch, generation + 1, System.currentTimeMillis());
+        }
+
+        // Weak: the same list may be sent compressed or not
+        public String etag() {
+            return "W/\"" + epoch + "-" + generation + "\"";
+        }
+    }
+
+    public record Stats(long hits, long misses, double hitRate, long evictions, long size) {
+
+        static Stats of(CacheStats stats, long size) {
+            return new Stats(stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount(), size);
+        }
+    }
+}
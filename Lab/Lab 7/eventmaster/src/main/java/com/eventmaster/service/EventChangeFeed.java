@@ -0,0 +1,60 @@
+package com.eventmaster.service;
+
+import com.eventmaster.model.Event;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+
+// Live feed of status changes for server-sent events. Subscribers that fall behind lose updates
+// instead of buffering them, so one slow client cannot hold memory for everyone.
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class EventChangeFeed implements EventChangeListener, SmartLifecycle {
+
+    private final Sinks.Many<Event> statusChanges = Sinks.many().multicast().directBestEffort();
+    private volatile boolean running;
+
+    public Flux<Event> statusChanges() {
+        return statusChanges.asFlux();
+    }
+
+    @Override
+    public void eventChanged(Event before, Event after) {
+        if (before == null || after == null || before.getStatus() == after.getStatus()) {
+            return;
+        }
+        // Sinks reject concurrent emission; changes arrive from request threads in parallel
+        synchronized (statusChanges) {
+            statusChanges.tryEmitNext(after);
+        }
+    }
+
+    // New events have no previous status to change from
+    @Override
+    public void eventsCreated(List<Event> events) {
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    // Ends every open stream before the web server's graceful shutdown, which would otherwise wait
+    // for these never-ending responses until its timeout
+    @Override
+    public void stop() {
+        running = false;
+        synchronized (statusChanges) {
+            statusChanges.tryEmitComplete();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,25 @@
+package com.eventmaster.service;
+
+import com.eventmaster.model.Event;
+
+import java.util.Collection;
+import java.util.List;
+
+// Notified by EventService after a change to an event has been committed
+public interface EventChangeListener {
+
+    // before is null for a new event, after is null for a deleted one
+    void eventChanged(Event before, Event after);
+
+    // A batch of new events from a bulk import; override when a whole batch can be handled more cheaply
+    default void eventsCreated(List<Event> events) {
+        for (Event event : events) {
+            eventChanged(null, event);
+        }
+    }
+
+    // Rows rewritten to what listeners already saw through eventChanged, e.g. buffered registrations
+    // written out by AttendeeWriteBehind; only copies read from the database in the meantime are stale
+    default void eventsWritten(Collection<Long> ids) {
+    }
+}
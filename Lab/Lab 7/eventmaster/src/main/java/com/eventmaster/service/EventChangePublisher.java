@@ -0,0 +1,56 @@
+package com.eventmaster.service;
+
+import com.eventmaster.model.Event;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+// Delivers event changes to every EventChangeListener once they are committed
+@Component
+public class EventChangePublisher {
+
+    @Autowired(required = false)
+    private List<EventChangeListener> changeListeners = List.of();
+
+    public void publish(Event before, Event after) {
+        afterCommit(() -> {
+            for (EventChangeListener listener : changeListeners) {
+                listener.eventChanged(before, after);
+            }
+        });
+    }
+
+    public void publishCreated(List<Event> events) {
+        afterCommit(() -> {
+            for (EventChangeListener listener : changeListeners) {
+                listener.eventsCreated(events);
+            }
+        });
+    }
+
+    public void publishWritten(Collection<Long> ids) {
+        afterCommit(() -> {
+            for (EventChangeListener listener : changeListeners) {
+                listener.eventsWritten(ids);
+            }
+        });
+    }
+
+    // Run once the surrounding transaction commits, or right away outside a transaction
+    private void afterCommit(Runnable notification) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notification.run();
+                }
+            });
+        } else {
+            notification.run();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.eventmaster.service;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventCategory;
+import com.eventmaster.model.EventStatus;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Minimal RFC 4180 reading and writing of events, one record per line except where a quoted field holds
+// line breaks
+final class EventCsv {
+
+    static final List<String> COLUMNS = List.of(
+            "id", "title", "category", "date", "time", "venue", "status", "maxAttendees", "currentAttendees");
+
+    private final Map<String, Integer> positions = new HashMap<>();
+
+    // Columns are located by the header, so files may omit or reorder them
+    EventCsv(String headerLine) {
+        List<String> header = split(headerLine);
+        for (int i = 0; i < header.size(); i++) {
+            positions.put(header.get(i).trim(), i);
+        }
+        if (!positions.containsKey("title")) {
+            throw new IllegalArgumentException("CSV header must contain a title column");
+        }
+    }
+
+    // The id column is ignored; imported events always get new ids
+    Event parse(String line) {
+        List<String> fields = split(line);
+        Event event = new Event();
+        event.setTitle(field(fields, "title"));
+        event.setCategory(enumField(fields, "category", EventCategory::fromLabel));
+        event.setDate(temporalField(fields, "date", LocalDate::parse));
+        event.setTime(temporalField(fields, "time", LocalTime::parse));
+        event.setVenue(field(fields, "venue"));
+        event.setStatus(enumField(fields, "status", EventStatus::fromLabel));
+        event.setMaxAttendees(intField(fields, "maxAttendees"));
+        event.setCurrentAttendees(intField(fields, "currentAttendees"));
+        return event;
+    }
+
+    static void writeHeader(Writer out) throws IOException {
+        out.write(String.join(",", COLUMNS));
+        out.write('\n');
+    }
+
+    static void write(Writer out, Event event) throws IOException {
+        out.write(String.valueOf(event.getId()));
+        writeField(out, event.getTitle());
+        writeField(out, event.getCategory() == null ? null : event.getCategory().getLabel());
+        writeField(out, event.getDate() == null ? null : event.getDate().toString());
+        writeField(out, event.getTime() == null ? null : event.getTime().toString());
+        writeField(out, event.getVenue());
+        writeField(out, event.getStatus() == null ? null : event.getStatus().getLabel());
+        out.write(',');
+        out.write(Integer.toString(event.getMaxAttendees()));
+        out.write(',');
+        out.write(Integer.toString(event.getCurrentAttendees()));
+        out.write('\n');
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer position = positions.get(column);
+        if (position == null || position >= fields.size() || fields.get(position).isEmpty()) {
+            return null;
+        }
+        return fields.get(position);
+    }
+
+    private int intField(List<String> fields, String column) {
+        String value = field(fields, column);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+    }
+
+    private <T> T enumField(List<String> fields, String column, Function<String, T> parser) {
+        String value = field(fields, column);
+        return value == null ? null : parser.apply(value);
+    }
+
+    private <T> T temporalField(List<String> fields, String column, Function<String, T> parser) {
+        String value = field(fields, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(column + " is not an ISO " + column + ": " + value);
+        }
+    }
+
+    private static void writeField(Writer out, String value) throws IOException {
+        out.write(',');
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    // Quotes in a line; while the record read so far has an odd number, a quoted field is still open
+    // and its line break belongs to the field
+    static int quotes(String line) {
+        int quotes = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes;
+    }
+
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
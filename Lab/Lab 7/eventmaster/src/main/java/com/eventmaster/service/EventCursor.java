@@ -0,0 +1,35 @@
+package com.eventmaster.service;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+// Opaque paging token wrapping the id of the last event a client has seen
+final class EventCursor {
+
+    private static final byte VERSION = 1;
+
+    private EventCursor() {
+    }
+
+    static String encode(long lastId) {
+        ByteBuffer buffer = ByteBuffer.allocate(Byte.BYTES + Long.BYTES).put(VERSION).putLong(lastId);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    // A missing cursor starts from the beginning of the table
+    static long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        if (bytes.length != Byte.BYTES + Long.BYTES || bytes[0] != VERSION) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return ByteBuffer.wrap(bytes, 1, Long.BYTES).getLong();
+    }
+}
@@ -0,0 +1,367 @@
+package com.eventmaster.service;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventFilter;
+import com.eventmaster.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// In-memory inverted index over event titles and venues for prefix (typeahead) search.
+// Every query word must be a prefix of some word of the event; matches are ranked by how much of the
+// word was typed, how rare the word is, and whether it is in the title (weighted higher) or the venue.
+// Built from the database at startup and kept current as an EventChangeListener.
+@Component
+public class EventSearchIndex implements EventChangeListener, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(EventSearchIndex.class);
+
+    // Bounds on the work per query, so short prefixes ("a") stay fast on large indexes: a prefix expands
+    // to its best scoring words only, and only so many events are looked at
+    private static final int MAX_EXPANSIONS = 64;
+    private static final int MAX_CANDIDATES = 50_000;
+
+    private final Field title = new Field(2.0);
+    private final Field venue = new Field(1.0);
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean running;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Load every event before the web server starts taking requests. A lifecycle start rather than bean
+    // initialization, so refreshing the context (AOT processing, the CDS training run) needs no database.
+    @Override
+    public void start() {
+        long start = System.nanoTime();
+        // Not a read-only transaction: with a read replica configured that would load a lagging copy, and
+        // later changes only arrive as increments. The query itself loads the rows read-only.
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Event> events = eventRepository.streamMatching(EventFilter.NONE)) {
+                lock.writeLock().lock();
+                try {
+                    events.forEach(this::put);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        });
+        log.info("Search index built with {} events in {} ms", size(), (System.nanoTime() - start) / 1_000_000);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // After migrations, before the web server
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 8192;
+    }
+
+    // Ids of the best matching events, best first
+    public List<Long> search(String query, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            // The word with the fewest matching events drives the search, the others only filter and score
+            List<List<Match>> matches = new ArrayList<>(words.size());
+            int driver = 0;
+            long driverSize = Long.MAX_VALUE;
+            for (String word : words) {
+                List<Match> wordMatches = matches(word);
+                if (wordMatches.isEmpty()) {
+                    return List.of();
+                }
+                long size = 0;
+                for (Match match : wordMatches) {
+                    size += match.postings.size;
+                }
+                if (size < driverSize) {
+                    driver = matches.size();
+                    driverSize = size;
+                }
+                matches.add(wordMatches);
+            }
+            double othersBest = 0;
+            for (int w = 0; w < matches.size(); w++) {
+                if (w != driver) {
+                    othersBest += matches.get(w).get(0).score;
+                }
+            }
+
+            // Driver matches come best first, so once the weakest kept hit reaches what the remaining
+            // events could score at most, nothing later can displace it
+            PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1);
+            Set<Long> seen = new HashSet<>();
+            search:
+            for (Match match : matches.get(driver)) {
+                double bound = match.score + othersBest;
+                for (int i = 0; i < match.postings.size; i++) {
+                    if (best.size() == limit && best.peek().score >= bound) {
+                        break search;
+                    }
+                    long id = match.postings.ids[i];
+                    if (!seen.add(id)) {
+                        continue;
+                    }
+                    double score = words.size() == 1 ? match.score : score(documents.get(id), words);
+                    if (score > 0) {
+                        best.add(new Hit(id, score));
+                        if (best.size() > limit) {
+                            best.poll();
+                        }
+                    }
+                    if (seen.size() == MAX_CANDIDATES) {
+                        break search;
+                    }
+                }
+            }
+
+            Long[] ranked = new Long[best.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = best.poll().id;
+            }
+            return Arrays.asList(ranked);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Reindex only when a searchable field changed; seat and status updates leave the index alone
+    @Override
+    public void eventChanged(Event before, Event after) {
+        if (before != null && after != null && sameText(before, after)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (after == null) {
+                remove(before.getId());
+            } else {
+                put(after);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // A whole import batch under one lock acquisition
+    @Override
+    public void eventsCreated(List<Event> events) {
+        lock.writeLock().lock();
+        try {
+            events.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Event event) {
+        remove(event.getId());
+        Document document = new Document(distinct(tokenize(event.getTitle())), distinct(tokenize(event.getVenue())));
+        documents.put(event.getId(), document);
+        title.add(document.title, event.getId());
+        venue.add(document.venue, event.getId());
+    }
+
+    private void remove(Long id) {
+        Document document = documents.remove(id);
+        if (document != null) {
+            title.remove(document.title, id);
+            venue.remove(document.venue, id);
+        }
+    }
+
+    // Indexed words of both fields starting with the given word, best scoring first
+    private List<Match> matches(String word) {
+        List<Match> matches = new ArrayList<>();
+        title.collect(word, matches);
+        venue.collect(word, matches);
+        matches.sort(Comparator.comparingDouble(Match::score).reversed());
+        return matches;
+    }
+
+    // Zero unless every query word matches; otherwise the sum of each word's best match
+    private double score(Document document, List<String> words) {
+        double total = 0;
+        for (String word : words) {
+            double best = Math.max(title.score(document.title, word), venue.score(document.venue, word));
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private static boolean sameText(Event before, Event after) {
+        return Objects.equals(before.getTitle(), after.getTitle())
+                && Objects.equals(before.getVenue(), after.getVenue());
+    }
+
+    // Lower-cased runs of letters and digits
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    private static String[] distinct(List<String> words) {
+        return words.stream().distinct().toArray(String[]::new);
+    }
+
+    // Word -> event ids for one field
+    private final class Field {
+        private final double weight;
+        private final NavigableMap<String, Postings> terms = new TreeMap<>();
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+
+        void add(String[] words, long id) {
+            for (String word : words) {
+                terms.computeIfAbsent(word, w -> new Postings()).add(id);
+            }
+        }
+
+        void remove(String[] words, long id) {
+            for (String word : words) {
+                Postings postings = terms.get(word);
+                if (postings != null && postings.remove(id) && postings.size == 0) {
+                    terms.remove(word);
+                }
+            }
+        }
+
+        // The MAX_EXPANSIONS best scoring words starting with prefix, whatever their alphabetical order; the
+        // best of them is then the best of all, which the search bounds rely on
+        void collect(String prefix, List<Match> into) {
+            PriorityQueue<Match> best = new PriorityQueue<>(MAX_EXPANSIONS + 1, Comparator.comparingDouble(Match::score));
+            for (Map.Entry<String, Postings> term : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).entrySet()) {
+                best.add(new Match(term.getValue(), score(term.getKey(), term.getValue(), prefix)));
+                if (best.size() > MAX_EXPANSIONS) {
+                    best.poll();
+                }
+            }
+            into.addAll(best);
+        }
+
+        double score(String[] documentWords, String prefix) {
+            double best = 0;
+            for (String word : documentWords) {
+                if (word.startsWith(prefix)) {
+                    best = Math.max(best, score(word, terms.get(word), prefix));
+                }
+            }
+            return best;
+        }
+
+        // Exact words score full marks, prefixes by the share of the word typed, rarer words higher
+        private double score(String word, Postings postings, String prefix) {
+            double idf = Math.log(1 + (double) documents.size() / postings.size);
+            return weight * idf * prefix.length() / word.length();
+        }
+    }
+
+    private record Document(String[] title, String[] venue) {
+    }
+
+    private record Match(Postings postings, double score) {
+    }
+
+    // Lowest score first, so the queue evicts the weakest hit; ties keep the lower id
+    private record Hit(long id, double score) implements Comparable<Hit> {
+        @Override
+        public int compareTo(Hit other) {
+            int byScore = Double.compare(score, other.score);
+            return byScore != 0 ? byScore : Long.compare(other.id, id);
+        }
+    }
+
+    // Sorted event ids for one word; ids mostly arrive in increasing order, so adds append
+    private static final class Postings {
+        private long[] ids = new long[2];
+        private int size;
+
+        void add(long id) {
+            int at = size == 0 || ids[size - 1] < id ? -size - 1 : Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                return; // already present
+            }
+            int insert = -at - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insert, ids, insert + 1, size - insert);
+            ids[insert] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -1,62 +1,302 @@
 package com.eventmaster.service;
 
 import com.eventmaster.model.Event;
+import com.eventmaster.model.EventFilter;
+import com.eventmaster.model.EventPage;
+import com.eventmaster.model.EventPatch;
+import com.eventmaster.model.EventSlice;
+import com.eventmaster.model.EventStatistics;
+import com.eventmaster.model.EventSummary;
 import com.eventmaster.repository.EventRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "eventmaster.service", histogram = true) // one timer per method, tagged with its name
 public class EventService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
+
     @Autowired
     private EventRepository eventRepository;
 
-    // Create a new event
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EventCache eventCache;
+
+    @Autowired
+    private EventChangePublisher changePublisher;
+
+    @Autowired
+    private EventSearchIndex searchIndex;
+
+    @Autowired
+    private EventAggregates aggregates;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Present only with eventmaster.registration.write-behind.enabled=true
+    @Autowired(required = false)
+    private AttendeeWriteBehind writeBehind;
+
+    // Create a new event. Every change runs in its own transaction and publishes itself from it.
     public Event createEvent(Event event) {
-        return eventRepository.save(event);
+        return transactionTemplate.execute(status -> {
+            Event saved = eventRepository.save(event);
+            changePublisher.publish(null, saved);
+            return saved;
+        });
     }
 
-    // Retrieve event by ID
+    // Getters read in read-only transactions: the repository opens one for cache misses (so cache hits
+    // never borrow a connection), the uncached getters below open their own. With a read replica
+    // configured (config/ReplicaConfig) these are the transactions that go to it.
+
+    // Retrieve event by ID; in write-behind mode with the seats not written yet
     public Optional<Event> getEventById(Long id) {
-        return eventRepository.findById(id);
+        Event buffered = writeBehind == null ? null : writeBehind.buffered(id);
+        if (buffered != null) {
+            return Optional.of(buffered);
+        }
+        return eventCache.getEvent(id, eventRepository::findById);
+    }
+
+    // Retrieve all events matching every supplied filter (filtered lists are cached, the full table is not)
+    public List<Event> getAllEvents(EventFilter filter) {
+        if (EventFilter.NONE.equals(filter)) {
+            return eventRepository.findMatching(filter);
+        }
+        return eventCache.getEvents(filter, () -> eventRepository.findMatching(filter));
+    }
+
+    // List-view summaries of all matching events, read as records instead of managed entities
+    @Transactional(readOnly = true)
+    public List<EventSummary> getEventSummaries(EventFilter filter) {
+        return eventRepository.findSummaries(filter);
+    }
+
+    // Only the named fields of all matching events, one map per event with the fields in the order given
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getEventFields(EventFilter filter, List<String> fields) {
+        List<String> selected = List.copyOf(new LinkedHashSet<>(fields));
+        List<Tuple> rows = eventRepository.findFields(filter, selected);
+        List<Map<String, Object>> events = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            for (int i = 0; i < selected.size(); i++) {
+                event.put(selected.get(i), row.get(i));
+            }
+            events.add(event);
+        }
+        return events;
+    }
+
+    // Events whose title or venue words start with every word of the query, best match first
+    @Transactional(readOnly = true)
+    public List<Event> searchEvents(String query, Integer limit) {
+        int max = limit == null ? DEFAULT_SEARCH_LIMIT : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        List<Long> ids = searchIndex.search(query, max);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // One primary-key lookup for the page, then back into rank order
+        Map<Long, Event> byId = new HashMap<>();
+        eventRepository.findAllById(ids).forEach(event -> byId.put(event.getId(), event));
+        List<Event> ranked = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Event event = byId.get(id);
+            if (event != null) {
+                ranked.add(event);
+            }
+        }
+        return ranked;
     }
 
-    // Retrieve all events (with optional filters)
-    public List<Event> getAllEvents(String category, String status, String venue) {
-        if (category != null) {
-            return eventRepository.findByCategory(category);
-        } else if (status != null) {
-            return eventRepository.findByStatus(status);
-        } else if (venue != null) {
-            return eventRepository.findByVenue(venue);
-        } else {
-            return eventRepository.findAll();
+    // Retrieve one page of matching events ordered by id, starting after the given cursor
+    @Transactional(readOnly = true)
+    public EventPage getEventPage(EventFilter filter, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long afterId = EventCursor.decode(cursor);
+
+        // Fetch one extra row to learn whether another page follows
+        List<Event> events = eventRepository.findMatchingAfter(filter, afterId, pageSize + 1);
+        if (events.size() <= pageSize) {
+            return new EventPage(events, null);
         }
+        List<Event> page = events.subList(0, pageSize);
+        return new EventPage(page, EventCursor.encode(page.get(pageSize - 1).getId()));
     }
 
-    // Update an event
-    public Event updateEvent(Long id, Event updatedEvent) {
-        Optional<Event> existingEvent = eventRepository.findById(id);
-        if (existingEvent.isPresent()) {
-            Event event = existingEvent.get();
-            event.setTitle(updatedEvent.getTitle());
-            event.setCategory(updatedEvent.getCategory());
-            event.setDate(updatedEvent.getDate());
-            event.setTime(updatedEvent.getTime());
-            event.setVenue(updatedEvent.getVenue());
-            event.setStatus(updatedEvent.getStatus());
-            event.setMaxAttendees(updatedEvent.getMaxAttendees());
-            event.setCurrentAttendees(updatedEvent.getCurrentAttendees());
-            return eventRepository.save(event);
-        } else {
-            throw new RuntimeException("Event not found with id: " + id);
+    // Retrieve events scheduled between two dates (inclusive, open-ended without to), soonest first
+    @Transactional(readOnly = true)
+    public EventSlice getEventsBetween(LocalDate from, LocalDate to, int page, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), pageSize);
+        Slice<Event> slice = to == null
+                ? eventRepository.findByDateGreaterThanEqualOrderByDateAscTimeAscIdAsc(from, pageable)
+                : eventRepository.findByDateBetweenOrderByDateAscTimeAscIdAsc(from, to, pageable);
+        return new EventSlice(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+
+    // Hand every matching event to the action in id order without holding the whole table in memory
+    @Transactional(readOnly = true)
+    public void streamEvents(EventFilter filter, Consumer<Event> action) {
+        try (Stream<Event> events = eventRepository.streamMatching(filter)) {
+            events.forEach(event -> {
+                action.accept(event);
+                entityManager.detach(event); // keep the persistence context from growing with the table
+            });
+        }
+    }
+
+    // Update an event; with an expected version the update is refused unless the event is still at it,
+    // and the UPDATE itself checks the version it read, so a change in between fails as well
+    public Event updateEvent(Long id, Event updatedEvent, Long expectedVersion) {
+        return settled(id, () -> transactionTemplate.execute(status -> {
+            Optional<Event> existingEvent = eventRepository.findById(id);
+            if (existingEvent.isPresent()) {
+                Event event = existingEvent.get();
+                if (expectedVersion != null && expectedVersion != event.getVersion()) {
+                    throw new OptimisticLockingFailureException("Event " + id + " is at version "
+                            + event.getVersion() + ", not " + expectedVersion);
+                }
+                Event before = new Event(event);
+                event.setTitle(updatedEvent.getTitle());
+                event.setCategory(updatedEvent.getCategory());
+                event.setDate(updatedEvent.getDate());
+                event.setTime(updatedEvent.getTime());
+                event.setVenue(updatedEvent.getVenue());
+                event.setStatus(updatedEvent.getStatus());
+                event.setMaxAttendees(updatedEvent.getMaxAttendees());
+                event.setCurrentAttendees(updatedEvent.getCurrentAttendees());
+                Event saved = eventRepository.saveAndFlush(event); // the version check fails here, not at commit
+                changePublisher.publish(before, saved);
+                return saved;
+            } else {
+                throw new RuntimeException("Event not found with id: " + id);
+            }
+        }));
+    }
+
+    // Change only the supplied fields of an event; unchanged columns are left out of the UPDATE
+    public Event patchEvent(Long id, EventPatch patch) {
+        return settled(id, () -> transactionTemplate.execute(status -> {
+            Event event = eventRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Event not found with id: " + id));
+            Event before = new Event(event);
+            if (!patch.applyTo(event)) {
+                return event;
+            }
+            if (event.getMaxAttendees() < 0 || event.getCurrentAttendees() < 0
+                    || event.getCurrentAttendees() > event.getMaxAttendees()) {
+                throw new IllegalArgumentException("Attendees must satisfy 0 <= current <= max, got "
+                        + event.getCurrentAttendees() + "/" + event.getMaxAttendees());
+            }
+            // The managed entity is flushed on commit through dirty checking, no save() needed
+            changePublisher.publish(before, event);
+            return event;
+        }));
+    }
+
+    // Register attendees for an event; fails instead of overselling when capacity is exhausted
+    public Event registerAttendees(Long id, int seats) {
+        if (seats <= 0) {
+            throw new IllegalArgumentException("Seats must be positive");
+        }
+        Event reserved = writeBehind == null ? null : writeBehind.reserve(id, seats);
+        if (reserved != null) {
+            return reserved;
         }
+        return transactionTemplate.execute(status -> {
+            Event before = new Event(eventRepository.findByIdForUpdate(id)
+                    .orElseThrow(() -> new RuntimeException("Event not found with id: " + id)));
+            if (eventRepository.reserveSeats(id, seats) == 0) {
+                throw new IllegalStateException("Cannot register " + seats + " attendee(s) for event " + id
+                        + " (" + before.getCurrentAttendees() + "/" + before.getMaxAttendees() + ", " + before.getStatus().getLabel() + ")");
+            }
+            Event after = eventRepository.findById(id).orElseThrow();
+            changePublisher.publish(before, after);
+            return after;
+        });
+    }
+
+    // Unregister attendees from an event
+    public Event unregisterAttendees(Long id, int seats) {
+        if (seats <= 0) {
+            throw new IllegalArgumentException("Seats must be positive");
+        }
+        Event released = writeBehind == null ? null : writeBehind.release(id, seats);
+        if (released != null) {
+            return released;
+        }
+        return transactionTemplate.execute(status -> {
+            Event before = new Event(eventRepository.findByIdForUpdate(id)
+                    .orElseThrow(() -> new RuntimeException("Event not found with id: " + id)));
+            if (eventRepository.releaseSeats(id, seats) == 0) {
+                throw new IllegalStateException("Cannot unregister " + seats + " attendee(s) from event " + id
+                        + " (" + before.getCurrentAttendees() + " registered)");
+            }
+            Event after = eventRepository.findById(id).orElseThrow();
+            changePublisher.publish(before, after);
+            return after;
+        });
     }
 
     // Delete an event
     public void deleteEvent(Long id) {
-        eventRepository.deleteById(id);
+        settled(id, () -> transactionTemplate.execute(status -> {
+            eventRepository.findById(id).ifPresent(event -> {
+                eventRepository.delete(event);
+                changePublisher.publish(event, null);
+            });
+            return null;
+        }));
+    }
+
+    // In write-behind mode, write out buffered seats before the event is edited directly, and hold off its
+    // registrations until the edit has committed (see AttendeeWriteBehind.settle)
+    private <T> T settled(Long id, Supplier<T> change) {
+        return writeBehind == null ? change.get() : writeBehind.settle(id, change);
+    }
+
+    // Dashboard totals, maintained incrementally rather than counted per request
+    public EventStatistics getStatistics() {
+        return aggregates.statistics();
+    }
+
+    // Version of every list of events, for conditional GETs that need no query when nothing changed
+    public EventCache.ListVersion getListVersion() {
+        return eventCache.listVersion();
+    }
+
+    // Hit, miss and eviction counters of the event cache
+    public Map<String, EventCache.Stats> getCacheStats() {
+        return eventCache.stats();
     }
 }
\ No newline at end of file
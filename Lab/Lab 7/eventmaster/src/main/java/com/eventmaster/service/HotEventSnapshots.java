@@ -0,0 +1,194 @@
+package com.eventmaster.service;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.repository.EventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Hot-set mode for GET /events/{id} during ticket drops. Lookups are counted per window; at the end of
+// each window the most requested events (up to size, and only those requested at least min-requests
+// times) are encoded to JSON once and kept as bytes, which the controller writes out as they are. Every
+// change to a hot event re-encodes it, so the bytes never lag behind the database.
+@Component
+@ConditionalOnProperty(name = "eventmaster.hot-events.enabled", havingValue = "true")
+public class HotEventSnapshots implements EventChangeListener, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(HotEventSnapshots.class);
+
+    private final Map<Long, LongAdder> requests = new ConcurrentHashMap<>();
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+    // Being loaded for the first time; changes to them are encoded as well, so a load never wins with
+    // an older version
+    private final Set<Long> promoting = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+    private ScheduledExecutorService refresher;
+
+    // Loaded like EventService.getEventById (EventService itself depends on the listeners)
+    @Autowired
+    private EventCache eventCache;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ObjectProvider<AttendeeWriteBehind> writeBehind;
+
+    @Value("${eventmaster.hot-events.size:16}")
+    private int size;
+
+    @Value("${eventmaster.hot-events.min-requests:100}")
+    private long minRequests;
+
+    @Value("${eventmaster.hot-events.window:1s}")
+    private Duration window;
+
+    // Count one lookup and return the encoded event if it is hot, otherwise null
+    public Snapshot lookup(Long id) {
+        Snapshot snapshot = snapshots.get(id);
+        LongAdder count = requests.get(id);
+        if (count == null) {
+            count = requests.computeIfAbsent(id, key -> new LongAdder());
+        }
+        count.increment();
+        return snapshot;
+    }
+
+    // Close the current window: encode the events that became hot, drop the ones that cooled down
+    public void refresh() {
+        List<Map.Entry<Long, Long>> counted = new ArrayList<>();
+        for (Long id : requests.keySet()) {
+            LongAdder count = requests.remove(id);
+            long total = count == null ? 0 : count.sum();
+            if (total >= minRequests) {
+                counted.add(Map.entry(id, total));
+            }
+        }
+        counted.sort(Map.Entry.<Long, Long>comparingByValue(Comparator.reverseOrder()));
+
+        Set<Long> hot = new HashSet<>();
+        for (Map.Entry<Long, Long> entry : counted.subList(0, Math.min(size, counted.size()))) {
+            hot.add(entry.getKey());
+        }
+        snapshots.keySet().retainAll(hot);
+        for (Long id : hot) {
+            if (!snapshots.containsKey(id)) {
+                promote(id);
+            }
+        }
+    }
+
+    private void promote(Long id) {
+        promoting.add(id);
+        try {
+            load(id).ifPresent(this::replace);
+            // A delete committed while loading found nothing to remove yet
+            if (load(id).isEmpty()) {
+                snapshots.remove(id);
+            }
+        } finally {
+            promoting.remove(id);
+        }
+    }
+
+    private Optional<Event> load(Long id) {
+        AttendeeWriteBehind ledger = writeBehind.getIfAvailable();
+        Event buffered = ledger == null ? null : ledger.buffered(id);
+        if (buffered != null) {
+            return Optional.of(buffered);
+        }
+        return eventCache.getEvent(id, eventRepository::findById);
+    }
+
+    public Set<Long> hotIds() {
+        return Set.copyOf(snapshots.keySet());
+    }
+
+    // Re-encode a hot event after its change was committed; a deleted one stops being served from here
+    @Override
+    public void eventChanged(Event before, Event after) {
+        if (after == null) {
+            snapshots.remove(before.getId());
+        } else if (snapshots.containsKey(after.getId()) || promoting.contains(after.getId())) {
+            replace(after);
+        }
+    }
+
+    // New events cannot be hot yet
+    @Override
+    public void eventsCreated(List<Event> events) {
+    }
+
+    // Changes are published after commit and may arrive out of order; the higher version wins
+    private void replace(Event event) {
+        Snapshot encoded;
+        try {
+            encoded = new Snapshot(objectMapper.writeValueAsBytes(event), "\"" + event.getVersion() + "\"", event.getVersion());
+        } catch (JsonProcessingException e) {
+            log.warn("Could not encode event {}, serving it the regular way", event.getId(), e);
+            snapshots.remove(event.getId());
+            return;
+        }
+        snapshots.compute(event.getId(), (id, existing) ->
+                existing != null && existing.version() > encoded.version() ? existing : encoded);
+    }
+
+    @Override
+    public void start() {
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hot-event-snapshots");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = Math.max(1, window.toMillis());
+        refresher.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                log.warn("Hot event refresh failed", e);
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        refresher.shutdownNow();
+        snapshots.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // The JSON body of one event as GET /events/{id} sends it, with its strong ETag (the version);
+    // shared by every request, never modified
+    public record Snapshot(byte[] json, String etag, long version) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.eventmaster.service;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventFilter;
+import com.eventmaster.model.EventPatch;
+import com.eventmaster.repository.ReactiveEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+// Reactive counterpart of EventService. Reads and seat updates run on R2DBC without blocking a thread;
+// create, patch and delete reuse EventService (sequence ids, dynamic updates) on the bounded elastic
+// scheduler, so the event loop never waits on JDBC.
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEventService {
+
+    @Autowired
+    private ReactiveEventRepository reactiveEventRepository;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventChangePublisher changePublisher;
+
+    @Autowired
+    private EventChangeFeed changeFeed;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    // Create a new event
+    public Mono<Event> createEvent(Event event) {
+        return blocking(() -> eventService.createEvent(event));
+    }
+
+    // Retrieve event by ID
+    public Mono<Event> getEventById(Long id) {
+        return reactiveEventRepository.findById(id);
+    }
+
+    // All matching events in id order; rows are requested from the database only as fast as the client reads
+    public Flux<Event> getAllEvents(EventFilter filter) {
+        return reactiveEventRepository.findMatching(filter);
+    }
+
+    // Events whose status changes from now on
+    public Flux<Event> statusChanges() {
+        return changeFeed.statusChanges();
+    }
+
+    // Change only the supplied fields of an event
+    public Mono<Event> patchEvent(Long id, EventPatch patch) {
+        return blocking(() -> eventService.patchEvent(id, patch));
+    }
+
+    // Register attendees for an event; fails instead of overselling when capacity is exhausted
+    public Mono<Event> registerAttendees(Long id, int seats) {
+        if (seats <= 0) {
+            return Mono.error(new IllegalArgumentException("Seats must be positive"));
+        }
+        return seatChange(id, before -> reactiveEventRepository.reserveSeats(id, seats)
+                .flatMap(updated -> updated == 0
+                        ? Mono.error(new IllegalStateException("Cannot register " + seats + " attendee(s) for event " + id
+                                + " (" + before.getCurrentAttendees() + "/" + before.getMaxAttendees() + ", " + before.getStatus().getLabel() + ")"))
+                        : reactiveEventRepository.findById(id)));
+    }
+
+    // Unregister attendees from an event
+    public Mono<Event> unregisterAttendees(Long id, int seats) {
+        if (seats <= 0) {
+            return Mono.error(new IllegalArgumentException("Seats must be positive"));
+        }
+        return seatChange(id, before -> reactiveEventRepository.releaseSeats(id, seats)
+                .flatMap(updated -> updated == 0
+                        ? Mono.error(new IllegalStateException("Cannot unregister " + seats + " attendee(s) from event " + id
+                                + " (" + before.getCurrentAttendees() + " registered)"))
+                        : reactiveEventRepository.findById(id)));
+    }
+
+    // Run update in a transaction that first locks the event's row, so before is exactly the state it
+    // changes, and publish the change once committed
+    private Mono<Event> seatChange(Long id, Function<Event, Mono<Event>> update) {
+        return reactiveEventRepository.findByIdForUpdate(id)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Event not found with id: " + id)))
+                .flatMap(before -> update.apply(before).map(after -> Tuples.of(before, after)))
+                .as(transactionalOperator::transactional)
+                .doOnNext(change -> changePublisher.publish(change.getT1(), change.getT2()))
+                .map(Tuple2::getT2);
+    }
+
+    // Delete an event
+    public Mono<Void> deleteEvent(Long id) {
+        return blocking(() -> {
+            eventService.deleteEvent(id);
+            return null;
+        }).then();
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
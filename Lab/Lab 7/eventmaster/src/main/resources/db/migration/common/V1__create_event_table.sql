@@ -0,0 +1,18 @@
+-- Event table as previously created by ddl-auto, including the filter indexes
+create table event (
+    id bigint not null auto_increment,
+    title varchar(255),
+    category varchar(255),
+    date varchar(255),
+    time varchar(255),
+    venue varchar(255),
+    status varchar(255),
+    max_attendees integer not null,
+    current_attendees integer not null,
+    primary key (id)
+);
+
+create index idx_event_category_date on event (category, date);
+create index idx_event_status_date on event (status, date);
+create index idx_event_venue_date on event (venue, date);
+create index idx_event_date on event (date);
@@ -0,0 +1,29 @@
+-- Replace the repeated category/status strings with one-byte codes
+-- (see EventCategory / EventStatus; unknown labels become NULL)
+alter table event add column category_code tinyint;
+alter table event add column status_code tinyint;
+
+update event set
+    category_code = case upper(trim(category))
+        when 'ENTERTAINMENT' then 1
+        when 'EDUCATIONAL' then 2
+        when 'SOCIAL CAUSE' then 3
+        when 'SOCIAL_CAUSE' then 3
+    end,
+    status_code = case upper(trim(status))
+        when 'AVAILABLE' then 1
+        when 'UPCOMING' then 2
+        when 'SOLD OUT' then 3
+        when 'SOLD_OUT' then 3
+        when 'CLOSED' then 4
+    end;
+
+drop index idx_event_category_date on event;
+drop index idx_event_status_date on event;
+alter table event drop column category;
+alter table event drop column status;
+alter table event rename column category_code to category;
+alter table event rename column status_code to status;
+
+create index idx_event_category_date on event (category, date);
+create index idx_event_status_date on event (status, date);
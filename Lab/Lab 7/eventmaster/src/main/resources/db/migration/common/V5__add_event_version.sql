@@ -0,0 +1,2 @@
+-- Optimistic-locking version, bumped by every change to a row; also the event's ETag
+alter table event add column version bigint not null default 0;
@@ -0,0 +1,6 @@
+-- One row the primary stamps with the time every heartbeat; the age of the stamp a replica has is its lag
+create table replica_heartbeat (
+    id int not null primary key,
+    beat bigint not null
+);
+insert into replica_heartbeat (id, beat) values (1, 0);
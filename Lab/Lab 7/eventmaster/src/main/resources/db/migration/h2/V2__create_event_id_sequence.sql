@@ -0,0 +1 @@
+create sequence event_seq start with 1 increment by 50;
@@ -0,0 +1,7 @@
+-- MySQL has no sequences; Hibernate emulates event_seq with a single-row table.
+-- Seed it past the ids already handed out by AUTO_INCREMENT.
+create table event_seq (
+    next_val bigint
+);
+
+insert into event_seq (next_val) select coalesce(max(id), 0) + 1 from event;
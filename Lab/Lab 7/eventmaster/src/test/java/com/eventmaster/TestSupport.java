@@ -0,0 +1,44 @@
+package com.eventmaster;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventCategory;
+import com.eventmaster.model.EventStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Helpers shared by the tests
+public final class TestSupport {
+
+	private TestSupport() {
+	}
+
+	// Until thread waits for a monitor, a lock, a latch or a timed park; fails if it ends first
+	public static void awaitBlocked(Thread thread) throws InterruptedException {
+		while (true) {
+			Thread.State state = thread.getState();
+			if (state == Thread.State.BLOCKED || state == Thread.State.WAITING || state == Thread.State.TIMED_WAITING) {
+				return;
+			}
+			assertThat(thread.isAlive()).isTrue();
+			Thread.sleep(10);
+		}
+	}
+
+	// An unsaved, available event
+	public static Event event(String title, EventCategory category, int capacity) {
+		Event event = new Event();
+		event.setTitle(title);
+		event.setCategory(category);
+		event.setStatus(EventStatus.AVAILABLE);
+		event.setMaxAttendees(capacity);
+		return event;
+	}
+
+	// Only an id and a title, for the in-memory structures that need no more
+	public static Event event(Long id, String title) {
+		Event event = new Event();
+		event.setId(id);
+		event.setTitle(title);
+		return event;
+	}
+}
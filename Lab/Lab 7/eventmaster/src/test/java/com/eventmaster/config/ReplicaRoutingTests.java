@@ -0,0 +1,114 @@
+package com.eventmaster.config;
+
+import com.eventmaster.model.EventCategory;
+import com.eventmaster.model.EventFilter;
+import com.eventmaster.model.EventPatch;
+import com.eventmaster.model.EventSummary;
+import com.eventmaster.service.EventService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.List;
+
+import static com.eventmaster.TestSupport.event;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two in-memory databases stand in for the primary and its replica; nothing copies rows between them,
+// so where a row shows up tells which one a read went to. The test replicates the heartbeat by hand.
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"eventmaster.datasource.replica.url=jdbc:h2:mem:routing-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"eventmaster.datasource.replica.username=sa",
+		"eventmaster.datasource.replica.password=",
+		"eventmaster.datasource.replica.max-lag=1s",
+		"eventmaster.datasource.replica.heartbeat=20ms",
+		"eventmaster.datasource.replica.retry-after=1h"})
+class ReplicaRoutingTests {
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private ReplicaReadDataSource replicaReads;
+
+	@Autowired
+	@Qualifier("replicaDataSource")
+	private HikariDataSource replica;
+
+	@Autowired
+	@Qualifier("primaryDataSource")
+	private HikariDataSource primary;
+
+	@BeforeEach
+	void migrateReplica() {
+		Flyway.configure().dataSource(replica)
+				.locations("classpath:db/migration/common", "classpath:db/migration/h2")
+				.load().migrate();
+		new JdbcTemplate(replica).update("delete from event");
+		new JdbcTemplate(replica).update("update replica_heartbeat set beat = 0");
+	}
+
+	@Test
+	void readsFollowTheirOwnWritesThenMoveToTheReplica() throws InterruptedException {
+		Long id = eventService.createEvent(event("Routed", EventCategory.EDUCATIONAL, 10)).getId();
+		assertThat(titles()).contains("Routed");
+
+		awaitReplica();
+		assertThat(titles()).doesNotContain("Routed");
+		new JdbcTemplate(replica).update("insert into event (id, title, max_attendees, current_attendees, version) "
+				+ "values (?, 'Replicated', 10, 0, 0)", id);
+		assertThat(titles()).containsExactly("Replicated");
+
+		// The write itself lands on the primary, and the following reads are back on the primary
+		eventService.patchEvent(id, new EventPatch("Patched", null, null, null, null, null, null, null));
+		assertThat(replicaReads.usingReplica()).isFalse();
+		assertThat(titles()).contains("Patched");
+		assertThat(new JdbcTemplate(primary).queryForObject("select title from event where id = ?", String.class, id))
+				.isEqualTo("Patched");
+	}
+
+	@Test
+	void readsMoveToThePrimaryOnceTheReplicaLagsBehindMaxLag() throws InterruptedException {
+		new JdbcTemplate(primary).update("insert into event (id, title, max_attendees, current_attendees, version) "
+				+ "values (next value for event_seq, 'Not replicated', 10, 0, 0)");
+		awaitReplica();
+		assertThat(titles()).doesNotContain("Not replicated");
+
+		// No heartbeat reaches the replica any more
+		while (replicaReads.usingReplica()) {
+			Thread.sleep(50);
+		}
+		assertThat(titles()).contains("Not replicated");
+	}
+
+	@Test
+	@DirtiesContext
+	void readsFallBackToThePrimaryWhenTheReplicaIsDown() throws InterruptedException {
+		eventService.createEvent(event("Fallback", EventCategory.EDUCATIONAL, 10));
+		awaitReplica();
+
+		replica.close();
+		assertThat(titles()).contains("Fallback");
+		assertThat(replicaReads.usingReplica()).isFalse();
+	}
+
+	private List<String> titles() {
+		return eventService.getEventSummaries(EventFilter.NONE).stream().map(EventSummary::title).toList();
+	}
+
+	// Copy the primary's heartbeat until the replica is read from
+	private void awaitReplica() throws InterruptedException {
+		while (!replicaReads.usingReplica()) {
+			Long beat = new JdbcTemplate(primary).queryForObject("select beat from replica_heartbeat where id = 1", Long.class);
+			new JdbcTemplate(replica).update("update replica_heartbeat set beat = ? where id = 1", beat);
+			Thread.sleep(50);
+		}
+	}
+}
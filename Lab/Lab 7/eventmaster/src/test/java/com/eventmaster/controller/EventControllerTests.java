@@ -0,0 +1,429 @@
+package com.eventmaster.controller;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventCategory;
+import com.eventmaster.model.EventStatus;
+import com.eventmaster.repository.EventRepository;
+import com.eventmaster.service.EventAggregates;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class EventControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private EventAggregates eventAggregates;
+
+	@BeforeEach
+	void seed() {
+		eventRepository.deleteAll();
+		for (int i = 1; i <= 7; i++) {
+			Event event = new Event();
+			event.setTitle("Event " + i);
+			event.setCategory(EventCategory.ENTERTAINMENT);
+			event.setDate(LocalDate.of(2025, 3, i));
+			event.setTime(LocalTime.of(18, 0));
+			event.setVenue("Hall " + (i % 2));
+			event.setStatus(EventStatus.AVAILABLE);
+			event.setMaxAttendees(100);
+			eventRepository.save(event);
+		}
+	}
+
+	@Test
+	void pagesFollowCursorUntilExhausted() throws Exception {
+		List<String> titles = new ArrayList<>();
+		String cursor = null;
+		int pages = 0;
+		do {
+			MvcResult result = mockMvc.perform(get("/events/page").param("size", "3")
+							.param("cursor", cursor == null ? "" : cursor))
+					.andExpect(status().isOk())
+					.andReturn();
+			JsonNode page = objectMapper.readTree(result.getResponse().getContentAsString());
+			page.get("events").forEach(event -> titles.add(event.get("title").asText()));
+			cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+			pages++;
+		} while (cursor != null);
+
+		assertThat(pages).isEqualTo(3);
+		assertThat(titles).containsExactly("Event 1", "Event 2", "Event 3", "Event 4", "Event 5", "Event 6", "Event 7");
+	}
+
+	@Test
+	void filtersAreAppliedTogether() throws Exception {
+		assertThat(titles(get("/events")
+				.param("category", "Entertainment")
+				.param("venue", "Hall 1")
+				.param("from", "2025-03-03")
+				.param("to", "2025-03-06"))).containsExactly("Event 3", "Event 5");
+	}
+
+	@Test
+	void listsCanSelectFieldsOrSummaries() throws Exception {
+		Event event = eventRepository.findAll().stream()
+				.filter(e -> e.getTitle().equals("Event 3"))
+				.findFirst().orElseThrow();
+		event.setCurrentAttendees(40);
+		eventRepository.save(event);
+
+		MvcResult fields = mockMvc.perform(get("/events").param("venue", "Hall 1").param("fields", "title,remainingSeats,status"))
+				.andExpect(status().isOk())
+				.andReturn();
+		JsonNode row = objectMapper.readTree(fields.getResponse().getContentAsString()).get(1);
+		assertThat(row.properties()).extracting(Map.Entry::getKey).containsExactly("title", "remainingSeats", "status");
+		assertThat(row.get("title").asText()).isEqualTo("Event 3");
+		assertThat(row.get("remainingSeats").asInt()).isEqualTo(60);
+		assertThat(row.get("status").asText()).isEqualTo("Available");
+
+		mockMvc.perform(get("/events/summaries").param("venue", "Hall 1"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(4))
+				.andExpect(jsonPath("$[1].title").value("Event 3"))
+				.andExpect(jsonPath("$[1].date").value("2025-03-03"))
+				.andExpect(jsonPath("$[1].remainingSeats").value(60))
+				.andExpect(jsonPath("$[1].venue").doesNotExist());
+
+		mockMvc.perform(get("/events").param("fields", "title,password"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void scheduleListsDateRangeInOrderOnePageAtATime() throws Exception {
+		JsonNode first = objectMapper.readTree(mockMvc.perform(get("/events/schedule")
+						.param("from", "2025-03-03").param("to", "2025-03-05").param("size", "2"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+		assertThat(first.get("events").findValuesAsText("title")).containsExactly("Event 3", "Event 4");
+		assertThat(first.get("hasNext").asBoolean()).isTrue();
+
+		JsonNode second = objectMapper.readTree(mockMvc.perform(get("/events/schedule")
+						.param("from", "2025-03-03").param("to", "2025-03-05").param("size", "2").param("page", "1"))
+				.andReturn().getResponse().getContentAsString());
+		assertThat(second.get("events").findValuesAsText("title")).containsExactly("Event 5");
+		assertThat(second.get("hasNext").asBoolean()).isFalse();
+	}
+
+	@Test
+	void cachedListIsInvalidatedWhenAnEventLeavesIt() throws Exception {
+		assertThat(titles(get("/events").param("status", "Available").param("venue", "Hall 0")))
+				.containsExactly("Event 2", "Event 4", "Event 6");
+		assertThat(titles(get("/events").param("status", "AVAILABLE").param("venue", "Hall 0")))
+				.containsExactly("Event 2", "Event 4", "Event 6");
+
+		Event closed = eventRepository.findAll().stream()
+				.filter(event -> event.getTitle().equals("Event 4"))
+				.findFirst().orElseThrow();
+		closed.setStatus(EventStatus.CLOSED);
+		mockMvc.perform(put("/events/edit/" + closed.getId())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(closed)))
+				.andExpect(status().isOk());
+
+		assertThat(titles(get("/events").param("status", "Available").param("venue", "Hall 0")))
+				.containsExactly("Event 2", "Event 6");
+		JsonNode stats = objectMapper.readTree(mockMvc.perform(get("/events/cache/stats"))
+				.andReturn().getResponse().getContentAsString());
+		assertThat(stats.get("lists").get("hits").asLong()).isPositive();
+	}
+
+	@Test
+	void conditionalRequestsFollowTheEventVersion() throws Exception {
+		Event event = eventRepository.findByVenue("Hall 0").get(0);
+		String etag = mockMvc.perform(get("/events/" + event.getId()))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"" + event.getVersion() + "\""))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get("/events/" + event.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+		mockMvc.perform(get("/events/" + Long.MAX_VALUE))
+				.andExpect(status().isNotFound())
+				.andExpect(header().doesNotExist(HttpHeaders.ETAG))
+				.andExpect(content().string(""));
+
+		String listTag = mockMvc.perform(get("/events"))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get("/events").header(HttpHeaders.IF_NONE_MATCH, listTag))
+				.andExpect(status().isNotModified());
+
+		// A registration is a change: new event version, new list version
+		mockMvc.perform(post("/events/" + event.getId() + "/register"))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/events/" + event.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.currentAttendees").value(1));
+		mockMvc.perform(get("/events").header(HttpHeaders.IF_NONE_MATCH, listTag))
+				.andExpect(status().isOk());
+
+		// An edit based on the stale version is refused, one based on the current version applies
+		event.setTitle("Renamed");
+		mockMvc.perform(put("/events/edit/" + event.getId())
+						.header(HttpHeaders.IF_MATCH, etag)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(event)))
+				.andExpect(status().isPreconditionFailed());
+		String current = "\"" + (event.getVersion() + 1) + "\"";
+		mockMvc.perform(put("/events/edit/" + event.getId())
+						.header(HttpHeaders.IF_MATCH, "W/" + current)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(event)))
+				.andExpect(status().isPreconditionFailed());
+		mockMvc.perform(put("/events/edit/" + event.getId())
+						.header(HttpHeaders.IF_MATCH, current)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(event)))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"" + (event.getVersion() + 2) + "\""))
+				.andExpect(jsonPath("$.title").value("Renamed"));
+	}
+
+	@Test
+	void patchChangesOnlyTheSuppliedFields() throws Exception {
+		Event event = eventRepository.findByVenue("Hall 0").get(0);
+
+		mockMvc.perform(patch("/events/" + event.getId())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"Closed\",\"currentAttendees\":3}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.status").value("Closed"))
+				.andExpect(jsonPath("$.currentAttendees").value(3))
+				.andExpect(jsonPath("$.title").value(event.getTitle()))
+				.andExpect(jsonPath("$.venue").value("Hall 0"));
+
+		Event stored = eventRepository.findById(event.getId()).orElseThrow();
+		assertThat(stored.getStatus()).isEqualTo(EventStatus.CLOSED);
+		assertThat(stored.getDate()).isEqualTo(event.getDate());
+		assertThat(stored.getMaxAttendees()).isEqualTo(event.getMaxAttendees());
+
+		mockMvc.perform(patch("/events/" + event.getId())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"currentAttendees\":" + (event.getMaxAttendees() + 1) + "}"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void searchMatchesWordPrefixesAndRanksTitlesFirst() throws Exception {
+		for (String[] titleAndVenue : new String[][] {
+				{"Zephyr Jazz Night", "Riverside"}, {"Zephyr Gala", "Zephyrus Hall"}, {"Open Air Jazz", "Zephyr Park"}}) {
+			mockMvc.perform(post("/events/save")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content("{\"title\":\"" + titleAndVenue[0] + "\",\"venue\":\"" + titleAndVenue[1]
+							+ "\",\"category\":\"Entertainment\",\"status\":\"Available\",\"maxAttendees\":10}"))
+					.andExpect(status().isOk());
+		}
+
+		mockMvc.perform(get("/events/search").param("q", "zeph ja"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(2))
+				.andExpect(jsonPath("$[0].title").value("Zephyr Jazz Night"))
+				.andExpect(jsonPath("$[1].title").value("Open Air Jazz"));
+		mockMvc.perform(get("/events/search").param("q", "ZEPHYR").param("limit", "1"))
+				.andExpect(jsonPath("$.length()").value(1));
+		mockMvc.perform(get("/events/search").param("q", "zephyrx"))
+				.andExpect(jsonPath("$.length()").value(0));
+	}
+
+	@Test
+	void statisticsFollowChangesWithoutRecounting() throws Exception {
+		eventAggregates.rebuild(); // the seed bypasses EventService
+		List<Event> hallOne = eventRepository.findByVenue("Hall 1");
+
+		mockMvc.perform(post("/events/" + hallOne.get(0).getId() + "/register").param("seats", "100"))
+				.andExpect(status().isOk());
+		mockMvc.perform(patch("/events/" + hallOne.get(1).getId())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"category\":\"Educational\",\"venue\":\"Hall 0\"}"))
+				.andExpect(status().isOk());
+		mockMvc.perform(delete("/events/delete/" + hallOne.get(2).getId())).andExpect(status().isOk());
+
+		JsonNode incremental = objectMapper.readTree(mockMvc.perform(get("/events/stats"))
+				.andReturn().getResponse().getContentAsString());
+		assertThat(incremental.get("events").asLong()).isEqualTo(6);
+		assertThat(incremental.at("/byCategory/Educational").asLong()).isEqualTo(1);
+		assertThat(incremental.at("/byStatus/Sold Out").asLong()).isEqualTo(1);
+		assertThat(incremental.get("soldOutRatio").asDouble()).isEqualTo(1.0 / 6);
+		assertThat(incremental.at("/byVenue/Hall 1/events").asLong()).isEqualTo(2);
+		assertThat(incremental.at("/byVenue/Hall 1/remainingCapacity").asLong()).isEqualTo(100);
+		assertThat(incremental.at("/byVenue/Hall 0/events").asLong()).isEqualTo(4);
+
+		eventAggregates.rebuild();
+		JsonNode recounted = objectMapper.readTree(mockMvc.perform(get("/events/stats"))
+				.andReturn().getResponse().getContentAsString());
+		assertThat(incremental).isEqualTo(recounted);
+	}
+
+	@Test
+	void bulkImportReportsBadRowsAndExportsTheRest() throws Exception {
+		String csv = """
+				title,category,date,venue,status,maxAttendees
+				Imported 1,Educational,2025-04-01,Hall 9,Available,10
+				,Educational,2025-04-02,Hall 9,Available,10
+				"Imported, quoted",Educational,2025-04-03,Hall 9,Available,10
+				Imported 3,Educational,2025-04-04,Hall 9,Available,many
+				""";
+		MvcResult result = mockMvc.perform(post("/events/bulk")
+						.contentType("text/csv")
+						.content(csv))
+				.andExpect(status().isOk())
+				.andReturn();
+		JsonNode report = objectMapper.readTree(result.getResponse().getContentAsString());
+		assertThat(report.get("imported").asLong()).isEqualTo(2);
+		assertThat(report.get("failed").asLong()).isEqualTo(2);
+		assertThat(report.get("errors").findValuesAsText("line")).containsExactly("3", "5");
+
+		MvcResult started = mockMvc.perform(get("/events/export").param("venue", "Hall 9"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		String exported = mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		assertThat(exported.split("\n")).hasSize(3);
+		assertThat(exported).contains("\"Imported, quoted\"");
+	}
+
+	@Test
+	void exportedCsvImportsBackWithLineBreaksInFields() throws Exception {
+		String csv = """
+				title,category,date,venue,status,maxAttendees
+				"First line
+				second ""line"", with a comma",Educational,2025-04-01,Hall 8,Available,10
+				Plain,Educational,2025-04-02,Hall 8,Available,10
+				"Never closed,Educational,2025-04-03,Hall 8,Available,10
+				""";
+		JsonNode report = objectMapper.readTree(mockMvc.perform(post("/events/bulk")
+						.contentType("text/csv")
+						.content(csv))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+		assertThat(report.get("imported").asLong()).isEqualTo(2);
+		assertThat(report.get("errors").findValuesAsText("line")).containsExactly("5");
+
+		MvcResult started = mockMvc.perform(get("/events/export").param("venue", "Hall 8"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		String exported = mockMvc.perform(asyncDispatch(started))
+				.andReturn().getResponse().getContentAsString();
+		eventRepository.deleteAll();
+		report = objectMapper.readTree(mockMvc.perform(post("/events/bulk")
+						.contentType("text/csv")
+						.content(exported))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+		assertThat(report.get("imported").asLong()).isEqualTo(2);
+		assertThat(report.get("failed").asLong()).isZero();
+		assertThat(eventRepository.findByVenue("Hall 8")).extracting(Event::getTitle)
+				.containsExactlyInAnyOrder("First line\nsecond \"line\", with a comma", "Plain");
+	}
+
+	@Test
+	void ndjsonImportIgnoresClientIdAndVersion() throws Exception {
+		mockMvc.perform(post("/events/bulk")
+						.contentType(MediaType.APPLICATION_NDJSON)
+						.content("{\"id\":999,\"version\":7,\"title\":\"Versioned\",\"venue\":\"Hall 7\",\"maxAttendees\":5}\n"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.imported").value(1));
+		Event imported = eventRepository.findByVenue("Hall 7").get(0);
+		assertThat(imported.getId()).isNotEqualTo(999L);
+		assertThat(imported.getVersion()).isZero();
+	}
+
+	@Test
+	void unknownStatusIsBadRequest() throws Exception {
+		mockMvc.perform(get("/events").param("status", "Sold"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(post("/events/save")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"title\":\"x\",\"status\":\"Sold\"}"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void prometheusEndpointExposesServiceDatabaseAndCacheMetrics() throws Exception {
+		mockMvc.perform(get("/events").param("venue", "Hall 1")).andExpect(status().isOk());
+
+		String metrics = mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		assertThat(metrics)
+				.contains("eventmaster_service_seconds_bucket")
+				.contains("method=\"getAllEvents\"")
+				.contains("http_server_requests_seconds_bucket")
+				.contains("hikaricp_connections")
+				.contains("hibernate_")
+				.contains("cache=\"event-lists\"");
+	}
+
+	@Test
+	void malformedCursorIsBadRequest() throws Exception {
+		mockMvc.perform(get("/events/page").param("cursor", "not-a-cursor"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void streamWritesOneJsonObjectPerLine() throws Exception {
+		MvcResult started = mockMvc.perform(get("/events/stream"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		MvcResult result = mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+				.andReturn();
+
+		String[] lines = result.getResponse().getContentAsString().split("\n");
+		assertThat(lines).hasSize(7);
+		assertThat(objectMapper.readTree(lines[6]).get("title").asText()).isEqualTo("Event 7");
+	}
+
+	private List<String> titles(MockHttpServletRequestBuilder request) throws Exception {
+		MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+		List<String> titles = new ArrayList<>();
+		objectMapper.readTree(result.getResponse().getContentAsString())
+				.forEach(event -> titles.add(event.get("title").asText()));
+		return titles;
+	}
+
+}
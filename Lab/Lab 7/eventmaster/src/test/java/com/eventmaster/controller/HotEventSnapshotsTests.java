@@ -0,0 +1,86 @@
+package com.eventmaster.controller;
+
+import com.eventmaster.model.EventCategory;
+import com.eventmaster.service.EventService;
+import com.eventmaster.service.HotEventSnapshots;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.eventmaster.TestSupport.event;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Windows are closed by the test, the interval is long enough never to fire on its own
+@SpringBootTest(properties = {
+		"eventmaster.hot-events.enabled=true",
+		"eventmaster.hot-events.size=1",
+		"eventmaster.hot-events.min-requests=2",
+		"eventmaster.hot-events.window=1h"})
+@AutoConfigureMockMvc
+class HotEventSnapshotsTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private HotEventSnapshots hotEvents;
+
+	@Test
+	void mostRequestedEventIsServedFromItsSnapshotAndFollowsChanges() throws Exception {
+		Long hot = eventService.createEvent(event("Ticket drop", EventCategory.ENTERTAINMENT, 100)).getId();
+		Long cold = eventService.createEvent(event("Quiet evening", EventCategory.ENTERTAINMENT, 100)).getId();
+		hotEvents.refresh(); // start from an empty window
+
+		String encoded = body(hot);
+		body(hot);
+		body(hot);
+		body(cold);
+		body(cold);
+		hotEvents.refresh();
+		assertThat(hotEvents.hotIds()).containsExactly(hot);
+
+		// Same body and ETag as the regular path, and conditional requests still work
+		assertThat(body(hot)).isEqualTo(encoded);
+		String etag = mockMvc.perform(get("/events/" + hot))
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get("/events/" + hot).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+
+		// A registration re-encodes the snapshot
+		mockMvc.perform(post("/events/" + hot + "/register")).andExpect(status().isOk());
+		mockMvc.perform(get("/events/" + hot).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.currentAttendees").value(1));
+
+		// A deleted event is no longer served, and one that cooled down leaves the hot set
+		hotEvents.refresh();
+		assertThat(hotEvents.hotIds()).containsExactly(hot);
+		mockMvc.perform(delete("/events/delete/" + hot)).andExpect(status().isOk());
+		assertThat(hotEvents.hotIds()).isEmpty();
+		mockMvc.perform(get("/events/" + hot)).andExpect(content().string(""));
+		hotEvents.refresh();
+		assertThat(hotEvents.hotIds()).isEmpty();
+	}
+
+	private String body(Long id) throws Exception {
+		return mockMvc.perform(get("/events/" + id))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/json"))
+				.andReturn().getResponse().getContentAsString();
+	}
+}
@@ -0,0 +1,101 @@
+package com.eventmaster.controller;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventCategory;
+import com.eventmaster.model.EventStatus;
+import com.eventmaster.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+class ReactiveEventControllerTests {
+
+	@Autowired
+	private WebTestClient client;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@BeforeEach
+	void seed() {
+		eventRepository.deleteAll();
+		for (int i = 1; i <= 5; i++) {
+			Event event = new Event();
+			event.setTitle("Event " + i);
+			event.setCategory(EventCategory.SOCIAL_CAUSE);
+			event.setDate(LocalDate.of(2025, 4, i));
+			event.setTime(LocalTime.of(10, 0));
+			event.setVenue("Hall " + (i % 2));
+			event.setStatus(EventStatus.AVAILABLE);
+			event.setMaxAttendees(2);
+			eventRepository.save(event);
+		}
+	}
+
+	@Test
+	void streamsMatchingEventsInIdOrder() {
+		List<Event> events = client.get().uri("/events/stream?venue=Hall 1&category=Social Cause&status=Available")
+				.accept(MediaType.APPLICATION_NDJSON)
+				.exchange()
+				.expectStatus().isOk()
+				.returnResult(Event.class).getResponseBody()
+				.collectList().block(Duration.ofSeconds(10));
+
+		assertThat(events).extracting(Event::getTitle).containsExactly("Event 1", "Event 3", "Event 5");
+		assertThat(events).extracting(Event::getCategory).containsOnly(EventCategory.SOCIAL_CAUSE);
+	}
+
+	@Test
+	void getByIdAnswersAnUnknownIdWithNotFound() {
+		Event event = eventRepository.findByVenue("Hall 0").get(0);
+		client.get().uri("/events/" + event.getId()).exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.title").isEqualTo(event.getTitle());
+		client.get().uri("/events/" + Long.MAX_VALUE).exchange()
+				.expectStatus().isNotFound();
+	}
+
+	@Test
+	void soldOutRegistrationIsPushedAsServerSentEvent() throws Exception {
+		Event event = eventRepository.findByVenue("Hall 0").get(0);
+
+		// The subscription is open before the registration happens
+		Thread registration = new Thread(() -> {
+			try {
+				Thread.sleep(500);
+			} catch (InterruptedException e) {
+				return;
+			}
+			client.post().uri("/events/" + event.getId() + "/register?seats=2").exchange().expectStatus().isOk();
+		});
+		registration.start();
+
+		Event change = client.get().uri("/events/changes")
+				.accept(MediaType.TEXT_EVENT_STREAM)
+				.exchange()
+				.expectStatus().isOk()
+				.returnResult(Event.class).getResponseBody()
+				.blockFirst(Duration.ofSeconds(10));
+		registration.join();
+
+		assertThat(change.getId()).isEqualTo(event.getId());
+		assertThat(change.getStatus()).isEqualTo(EventStatus.SOLD_OUT);
+		assertThat(change.getCurrentAttendees()).isEqualTo(2);
+
+		client.post().uri("/events/" + event.getId() + "/register").exchange().expectStatus().isEqualTo(409);
+		assertThat(eventRepository.findById(event.getId()).orElseThrow().getCurrentAttendees()).isEqualTo(2);
+	}
+}
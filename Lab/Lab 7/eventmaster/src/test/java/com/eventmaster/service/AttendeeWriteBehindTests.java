@@ -0,0 +1,225 @@
+package com.eventmaster.service;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventCategory;
+import com.eventmaster.model.EventFilter;
+import com.eventmaster.model.EventPatch;
+import com.eventmaster.model.EventStatus;
+import com.eventmaster.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.eventmaster.TestSupport.awaitBlocked;
+import static com.eventmaster.TestSupport.event;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Flushes are triggered by the test, the interval is long enough never to fire on its own
+@SpringBootTest(properties = {
+		"eventmaster.registration.write-behind.enabled=true",
+		"eventmaster.registration.write-behind.flush-interval=1h"})
+class AttendeeWriteBehindTests {
+
+	private static final int CAPACITY = 300;
+	private static final int THREADS = 16;
+	private static final int REQUESTS = 1_000;
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private AttendeeWriteBehind writeBehind;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Test
+	void bufferedRegistrationsNeverOversellAndReachTheDatabaseInOneFlush() throws Exception {
+		Long id = eventRepository.save(event("Write-behind drop", EventCategory.ENTERTAINMENT, CAPACITY)).getId();
+
+		AtomicInteger accepted = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < REQUESTS; i++) {
+			futures.add(pool.submit(() -> {
+				start.await();
+				try {
+					eventService.registerAttendees(id, 1);
+					accepted.incrementAndGet();
+				} catch (IllegalStateException e) {
+					// sold out
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		pool.shutdown();
+
+		assertThat(accepted.get()).isEqualTo(CAPACITY);
+		assertThat(eventRepository.findById(id).orElseThrow().getCurrentAttendees()).isZero();
+
+		writeBehind.flush();
+		Event flushed = eventRepository.findById(id).orElseThrow();
+		assertThat(flushed.getCurrentAttendees()).isEqualTo(CAPACITY);
+		assertThat(flushed.getStatus()).isEqualTo(EventStatus.SOLD_OUT);
+	}
+
+	@Test
+	void directEditsSeeBufferedSeatsAndLaterRegistrationsSeeTheEdit() {
+		Long id = eventRepository.save(event("Write-behind drop", EventCategory.ENTERTAINMENT, 10)).getId();
+		eventService.registerAttendees(id, 4);
+		eventService.unregisterAttendees(id, 1);
+
+		Event patched = eventService.patchEvent(id, new EventPatch(null, null, null, null, null, null, 5, null));
+		assertThat(patched.getCurrentAttendees()).isEqualTo(3);
+
+		Event registered = eventService.registerAttendees(id, 2);
+		assertThat(registered.getCurrentAttendees()).isEqualTo(5);
+		assertThat(registered.getStatus()).isEqualTo(EventStatus.SOLD_OUT);
+		assertThat(eventService.getEventById(id).orElseThrow().getMaxAttendees()).isEqualTo(5);
+	}
+
+	// Single events come from the buffer until the seats are written; lists lag until then, but nothing
+	// read from the database in between outlives the flush
+	@Test
+	void readsBetweenARegistrationAndItsFlushAreNotLeftBehindByIt() {
+		Event saved = event("Write-behind drop", EventCategory.ENTERTAINMENT, 10);
+		saved.setVenue("Write-behind reads");
+		Long id = eventRepository.save(saved).getId();
+		EventFilter filter = new EventFilter(null, null, "Write-behind reads", null, null);
+		eventService.getEventById(id);
+
+		Event registered = eventService.registerAttendees(id, 2);
+		Event buffered = eventService.getEventById(id).orElseThrow();
+		assertThat(buffered.getCurrentAttendees()).isEqualTo(2);
+		assertThat(buffered.getVersion()).isEqualTo(registered.getVersion());
+		assertThat(eventService.getAllEvents(filter)).singleElement()
+				.extracting(Event::getCurrentAttendees).isEqualTo(0);
+
+		writeBehind.flush(); // writes the seats
+		writeBehind.flush(); // drops the idle entry, reads go to the database again
+		Event written = eventService.getEventById(id).orElseThrow();
+		assertThat(written.getCurrentAttendees()).isEqualTo(2);
+		assertThat(written.getVersion()).isEqualTo(registered.getVersion());
+		assertThat(eventService.getAllEvents(filter)).singleElement()
+				.extracting(Event::getCurrentAttendees).isEqualTo(2);
+		eventService.updateEvent(id, written, written.getVersion());
+	}
+
+	// Registrations arriving while the capacity is lowered wait for the edit and are checked against it
+	@Test
+	void loweringTheCapacityWhileRegistrationsGoOnNeverOversells() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS + 1);
+		try {
+			for (int round = 0; round < 10; round++) {
+				Long id = eventRepository.save(event("Write-behind drop", EventCategory.ENTERTAINMENT, 100)).getId();
+				eventService.registerAttendees(id, 40);
+
+				AtomicInteger accepted = new AtomicInteger();
+				CountDownLatch start = new CountDownLatch(1);
+				List<Future<?>> futures = new ArrayList<>();
+				for (int i = 0; i < THREADS; i++) {
+					futures.add(pool.submit(() -> {
+						start.await();
+						for (int attempt = 0; attempt < 4; attempt++) {
+							try {
+								eventService.registerAttendees(id, 1);
+								accepted.incrementAndGet();
+							} catch (IllegalStateException e) {
+								// sold out
+							}
+							Thread.sleep(1);
+						}
+						return null;
+					}));
+				}
+				futures.add(pool.submit(() -> {
+					start.await();
+					try {
+						eventService.patchEvent(id, new EventPatch(null, null, null, null, null, null, 60, null));
+					} catch (IllegalArgumentException e) {
+						// more than 60 registered already
+					}
+					return null;
+				}));
+				start.countDown();
+				for (Future<?> future : futures) {
+					future.get();
+				}
+
+				writeBehind.flush();
+				Event written = eventRepository.findById(id).orElseThrow();
+				assertThat(written.getCurrentAttendees()).isEqualTo(40 + accepted.get());
+				assertThat(written.getCurrentAttendees()).isLessThanOrEqualTo(written.getMaxAttendees());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	// A flush blocked on a row lock still owns the seats it is writing: settling waits for it, and a
+	// registration meanwhile is checked against the buffered count, not the database's older one
+	@Test
+	void seatsBeingFlushedStillCountUntilTheirWriteCommits() throws Exception {
+		Long id = eventRepository.save(event("Write-behind drop", EventCategory.ENTERTAINMENT, 10)).getId();
+		eventService.registerAttendees(id, 10);
+
+		try (Connection locker = dataSource.getConnection()) {
+			locker.setAutoCommit(false);
+			try (PreparedStatement lock = locker.prepareStatement("select * from event where id = ? for update")) {
+				lock.setLong(1, id);
+				lock.executeQuery().close();
+			}
+			Thread flush = new Thread(writeBehind::flush);
+			flush.start();
+			awaitBlocked(flush); // on the row lock, with the seats taken out of the buffer
+			Thread settle = new Thread(() -> writeBehind.settle(id));
+			settle.start();
+			awaitBlocked(settle);
+
+			assertThatThrownBy(() -> eventService.registerAttendees(id, 5)).isInstanceOf(IllegalStateException.class);
+
+			locker.commit();
+			flush.join();
+			settle.join();
+		}
+		Event written = eventRepository.findById(id).orElseThrow();
+		assertThat(written.getCurrentAttendees()).isEqualTo(10);
+		assertThat(written.getStatus()).isEqualTo(EventStatus.SOLD_OUT);
+		assertThatThrownBy(() -> eventService.registerAttendees(id, 1)).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void shutdownDrainsTheBufferAndLaterRegistrationsGoStraightToTheDatabase() {
+		Long id = eventRepository.save(event("Write-behind drop", EventCategory.ENTERTAINMENT, 10)).getId();
+		eventService.registerAttendees(id, 3);
+
+		writeBehind.stop();
+		try {
+			assertThat(eventRepository.findById(id).orElseThrow().getCurrentAttendees()).isEqualTo(3);
+			eventService.registerAttendees(id, 1);
+			assertThat(eventRepository.findById(id).orElseThrow().getCurrentAttendees()).isEqualTo(4);
+		} finally {
+			writeBehind.start();
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.eventmaster.service;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventFilter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.eventmaster.TestSupport.awaitBlocked;
+import static com.eventmaster.TestSupport.event;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A load that read the row before a change and finishes after the change was applied must not be kept
+class EventCacheTests {
+
+	private final EventCache cache = new EventCache(100, 1000, Duration.ofMinutes(5));
+
+	@Test
+	void eventReadBeforeAChangeIsNotCachedAfterIt() throws Exception {
+		Event stale = event(1L, "Stale");
+		Event fresh = event(1L, "Fresh");
+		CountDownLatch reading = new CountDownLatch(1);
+		CountDownLatch changed = new CountDownLatch(1);
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			Future<Optional<Event>> load = pool.submit(() -> cache.getEvent(1L, id -> {
+				reading.countDown();
+				await(changed);
+				return Optional.of(stale);
+			}));
+			reading.await();
+			Thread change = new Thread(() -> cache.eventChanged(stale, fresh));
+			change.start();
+			awaitBlocked(change); // invalidating waits for the load
+			changed.countDown();
+			assertThat(load.get()).contains(stale);
+			change.join();
+		} finally {
+			pool.shutdown();
+		}
+
+		AtomicInteger loads = new AtomicInteger();
+		assertThat(cache.getEvent(1L, id -> {
+			loads.incrementAndGet();
+			return Optional.of(fresh);
+		})).contains(fresh);
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	void listReadBeforeAChangeIsNotCachedAfterIt() throws Exception {
+		Event stale = event(1L, "Stale");
+		Event fresh = event(1L, "Fresh");
+		CountDownLatch reading = new CountDownLatch(1);
+		CountDownLatch changed = new CountDownLatch(1);
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			Future<List<Event>> load = pool.submit(() -> cache.getEvents(EventFilter.NONE, () -> {
+				reading.countDown();
+				await(changed);
+				return List.of(stale);
+			}));
+			reading.await();
+			cache.eventChanged(stale, fresh);
+			changed.countDown();
+			assertThat(load.get()).containsExactly(stale);
+		} finally {
+			pool.shutdown();
+		}
+
+		assertThat(cache.getEvents(EventFilter.NONE, () -> List.of(fresh))).containsExactly(fresh);
+		// Loads that no change overlapped are kept
+		assertThat(cache.getEvents(EventFilter.NONE, () -> List.of(stale))).containsExactly(fresh);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,154 @@
+package com.eventmaster.service;
+
+import com.eventmaster.model.Event;
+import com.eventmaster.model.EventCategory;
+import com.eventmaster.model.EventStatistics;
+import com.eventmaster.model.EventStatus;
+import com.eventmaster.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class EventRegistrationLoadTests {
+
+	private static final int CAPACITY = 500;
+	private static final int THREADS = 32;
+	private static final int REQUESTS = 2_000;
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private EventAggregates aggregates;
+
+	@Test
+	void concurrentRegistrationsNeverOversell() throws Exception {
+		Event event = new Event();
+		event.setTitle("Ticket drop");
+		event.setCategory(EventCategory.ENTERTAINMENT);
+		event.setStatus(EventStatus.AVAILABLE);
+		event.setMaxAttendees(CAPACITY);
+		Long id = eventRepository.save(event).getId();
+
+		AtomicInteger accepted = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < REQUESTS; i++) {
+			futures.add(pool.submit(() -> {
+				start.await();
+				try {
+					eventService.registerAttendees(id, 1);
+					accepted.incrementAndGet();
+				} catch (IllegalStateException e) {
+					rejected.incrementAndGet();
+				}
+				return null;
+			}));
+		}
+
+		long began = System.nanoTime();
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began);
+		pool.shutdown();
+		System.out.printf("%d registrations in %d ms (%.0f req/s)%n",
+				REQUESTS, elapsedMillis, REQUESTS * 1000.0 / Math.max(1, elapsedMillis));
+
+		Event result = eventRepository.findById(id).orElseThrow();
+		assertThat(accepted.get()).isEqualTo(CAPACITY);
+		assertThat(rejected.get()).isEqualTo(REQUESTS - CAPACITY);
+		assertThat(result.getCurrentAttendees()).isEqualTo(CAPACITY);
+		assertThat(result.getStatus()).isEqualTo(EventStatus.SOLD_OUT);
+
+		eventService.unregisterAttendees(id, 1);
+		assertThat(eventRepository.findById(id).orElseThrow().getStatus()).isEqualTo(EventStatus.AVAILABLE);
+	}
+
+	// Two events share the venue so that it stays listed; concurrent seat changes must leave the incremental
+	// totals equal to a fresh recount and to the rows themselves
+	@Test
+	void dashboardTotalsStayExactUnderConcurrentRegistrations() throws Exception {
+		String venue = "Load hall " + System.nanoTime();
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			Event event = new Event();
+			event.setTitle("Totals drop " + i);
+			event.setCategory(EventCategory.ENTERTAINMENT);
+			event.setStatus(EventStatus.AVAILABLE);
+			event.setVenue(venue);
+			event.setMaxAttendees(50);
+			ids.add(eventService.createEvent(event).getId());
+		}
+
+		// Other tests save rows around the publisher, so start from a recount
+		aggregates.rebuild();
+		registerConcurrently(ids);
+		assertTotalsMatchDatabase(venue, ids);
+		registerConcurrently(ids);
+		assertTotalsMatchDatabase(venue, ids);
+	}
+
+	private void registerConcurrently(List<Long> ids) throws Exception {
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < 400; i++) {
+			Long id = ids.get(i % 2);
+			boolean register = i % 4 < 3;
+			futures.add(pool.submit(() -> {
+				start.await();
+				try {
+					if (register) {
+						eventService.registerAttendees(id, 1);
+					} else {
+						eventService.unregisterAttendees(id, 1);
+					}
+				} catch (IllegalStateException e) {
+					// sold out, or nothing to give back yet
+					assertThat(e).hasMessageStartingWith("Cannot");
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		pool.shutdown();
+	}
+
+	private void assertTotalsMatchDatabase(String venue, List<Long> ids) {
+		long attendees = 0;
+		long soldOut = 0;
+		for (Long id : ids) {
+			Event event = eventRepository.findById(id).orElseThrow();
+			attendees += event.getCurrentAttendees();
+			soldOut += event.getStatus() == EventStatus.SOLD_OUT ? 1 : 0;
+		}
+		EventStatistics incremental = aggregates.statistics();
+		assertThat(incremental.byVenue().get(venue)).isEqualTo(new EventStatistics.VenueTotals(2, 100, attendees));
+		aggregates.rebuild();
+		assertThat(incremental).isEqualTo(aggregates.statistics());
+		assertThat(soldOut).isLessThanOrEqualTo(incremental.byStatus().get(EventStatus.SOLD_OUT.getLabel()));
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.eventmaster.service;
+
+import com.eventmaster.model.Event;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.eventmaster.TestSupport.event;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventSearchIndexTests {
+
+	// More words start with "q" than a prefix expands to; the best match sorts after all of them
+	@Test
+	void prefixExpandsToItsBestWordsNotTheFirstOnes() {
+		EventSearchIndex index = new EventSearchIndex();
+		List<Event> events = new ArrayList<>();
+		for (long id = 1; id <= 100; id++) {
+			events.add(event(id, String.format("qa%03d xy", id)));
+		}
+		events.add(event(101L, "qz xy"));
+		index.eventsCreated(events);
+
+		assertThat(index.search("q", 1)).containsExactly(101L);
+		assertThat(index.search("q xy", 1)).containsExactly(101L);
+		assertThat(index.search("xy q", 1)).containsExactly(101L);
+		assertThat(index.search("qa050", 5)).containsExactly(50L);
+	}
+}